@@ -0,0 +1,149 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.dto.CategoryResponseDto;
+import com.example.bookstore.dto.CategoryTreeDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.event.CategoryDeletedEvent;
+import com.example.bookstore.event.CategorySavedEvent;
+import com.example.bookstore.mapper.CategoryMapper;
+import com.example.bookstore.repository.CategoryRepository;
+import com.example.bookstore.repository.ResourceVersionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Immutable list of all categories ordered by id, mapped and serialized once per change,
+ * with the category tree linked up for menus and breadcrumbs. Loaded on first use and
+ * swapped right after every category write commits, together with the version that
+ * serves as the ETag, so reads never go to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategorySnapshot {
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategorySaved(CategorySavedEvent event) {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        refresh();
+    }
+
+    public ResourceVersionDto getVersion() {
+        return current().version;
+    }
+
+    public List<CategoryResponseDto> findAll(Pageable pageable) {
+        List<CategoryResponseDto> categories = current().categories;
+        if (pageable.isUnpaged()) {
+            return categories;
+        }
+        int from = (int) Math.min(pageable.getOffset(), categories.size());
+        return categories.subList(from, Math.min(from + pageable.getPageSize(),
+                categories.size()));
+    }
+
+    public byte[] findAllAsJson() {
+        return current().json;
+    }
+
+    public List<CategoryTreeDto> getTree() {
+        return current().tree;
+    }
+
+    public List<CategoryResponseDto> getPath(Long id) {
+        Map<Long, CategoryResponseDto> categoriesById = current().categoriesById;
+        List<CategoryResponseDto> path = new ArrayList<>();
+        CategoryResponseDto category = categoriesById.get(id);
+        while (category != null && path.size() <= categoriesById.size()) {
+            path.add(category);
+            category = category.getParentId() == null ? null
+                    : categoriesById.get(category.getParentId());
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot.get();
+            return current != null ? current : refresh();
+        }
+    }
+
+    private synchronized Snapshot refresh() {
+        ResourceVersionDto version = resourceVersionRepository.findCategoriesVersion();
+        List<CategoryResponseDto> categories = categoryRepository.findAll(Sort.by("id"))
+                .stream()
+                .map(categoryMapper::toDto)
+                .collect(Collectors.toUnmodifiableList());
+        try {
+            Snapshot loaded = new Snapshot(version, categories,
+                    objectMapper.writeValueAsBytes(categories), buildTree(categories));
+            snapshot.set(loaded);
+            return loaded;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize categories", e);
+        }
+    }
+
+    private List<CategoryTreeDto> buildTree(List<CategoryResponseDto> categories) {
+        Map<Long, CategoryTreeDto> nodes = new HashMap<>();
+        for (CategoryResponseDto category : categories) {
+            CategoryTreeDto node = new CategoryTreeDto();
+            node.setId(category.getId());
+            node.setName(category.getName());
+            node.setChildren(new ArrayList<>());
+            nodes.put(category.getId(), node);
+        }
+        List<CategoryTreeDto> roots = new ArrayList<>();
+        for (CategoryResponseDto category : categories) {
+            CategoryTreeDto parent = category.getParentId() == null ? null
+                    : nodes.get(category.getParentId());
+            (parent == null ? roots : parent.getChildren()).add(nodes.get(category.getId()));
+        }
+        return Collections.unmodifiableList(roots);
+    }
+
+    private static final class Snapshot {
+        private final ResourceVersionDto version;
+        private final List<CategoryResponseDto> categories;
+        private final Map<Long, CategoryResponseDto> categoriesById;
+        private final byte[] json;
+        private final List<CategoryTreeDto> tree;
+
+        private Snapshot(ResourceVersionDto version, List<CategoryResponseDto> categories,
+                         byte[] json, List<CategoryTreeDto> tree) {
+            this.version = version;
+            this.categories = categories;
+            this.categoriesById = categories.stream()
+                    .collect(Collectors.toUnmodifiableMap(CategoryResponseDto::getId,
+                            category -> category));
+            this.json = json;
+            this.tree = tree;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.dto.CartOperationRequestDto;
+import com.example.bookstore.dto.CartOperationResultDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.repository.CartItemJdbcRepository.CartItemConsumer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+class CartState {
+    private final Long userId;
+    private final Long id;
+    private final Map<Long, Integer> quantities = new HashMap<>();
+    private final Map<Long, Long> bookIdsByItemId = new HashMap<>();
+    private final Set<Long> changedBookIds = new HashSet<>();
+    private final Set<Long> removedBookIds = new HashSet<>();
+    @Setter
+    private volatile long lastUsedMillis;
+
+    CartState(Long userId, Long id) {
+        this.userId = userId;
+        this.id = id;
+    }
+
+    static CartState load(Long userId, Function<CartItemConsumer, Long> loader) {
+        List<long[]> items = new ArrayList<>();
+        Long cartId = loader.apply((itemId, bookId, quantity) ->
+                items.add(new long[]{itemId, bookId, quantity}));
+        if (cartId == null) {
+            throw new EntityNotFoundException("Shopping cart not found.");
+        }
+        CartState cart = new CartState(userId, cartId);
+        items.forEach(item -> cart.putItem(item[0], item[1], (int) item[2]));
+        return cart;
+    }
+
+    static Set<Long> findBookIdsToAdd(List<CartOperationRequestDto> operations) {
+        return operations.stream()
+                .filter(operation -> operation.getType() == CartOperationRequestDto.Type.ADD)
+                .map(CartOperationRequestDto::getBookId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    static Set<Long> findItemIds(List<CartOperationRequestDto> operations) {
+        return operations.stream()
+                .filter(operation -> operation.getType() != CartOperationRequestDto.Type.ADD)
+                .map(CartOperationRequestDto::getCartItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    void putItem(Long itemId, Long bookId, int quantity) {
+        quantities.put(bookId, quantity);
+        bookIdsByItemId.put(itemId, bookId);
+    }
+
+    void rememberItem(Long itemId, Long bookId) {
+        bookIdsByItemId.put(itemId, bookId);
+    }
+
+    Long findBookId(Long itemId) {
+        Long bookId = bookIdsByItemId.get(itemId);
+        return bookId != null && quantities.containsKey(bookId) ? bookId : null;
+    }
+
+    void add(Long bookId, int quantity) {
+        quantities.merge(bookId, quantity, Integer::sum);
+        changedBookIds.add(bookId);
+        removedBookIds.remove(bookId);
+    }
+
+    void setQuantity(Long bookId, int quantity) {
+        quantities.put(bookId, quantity);
+        changedBookIds.add(bookId);
+    }
+
+    void remove(Long itemId, Long bookId) {
+        quantities.remove(bookId);
+        bookIdsByItemId.remove(itemId);
+        changedBookIds.remove(bookId);
+        removedBookIds.add(bookId);
+    }
+
+    List<CartOperationResultDto> apply(List<CartOperationRequestDto> operations,
+                                       Collection<Long> existingBookIds) {
+        List<CartOperationResultDto> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            String error = applyOperation(operations.get(i), existingBookIds);
+            results.add(new CartOperationResultDto(i, error == null, error));
+        }
+        return results;
+    }
+
+    boolean hasChanges() {
+        return !changedBookIds.isEmpty() || !removedBookIds.isEmpty();
+    }
+
+    Map<Long, Integer> getChangedQuantities() {
+        Map<Long, Integer> changed = new HashMap<>();
+        changedBookIds.forEach(bookId -> changed.put(bookId, quantities.get(bookId)));
+        return changed;
+    }
+
+    void clearChanges() {
+        changedBookIds.clear();
+        removedBookIds.clear();
+    }
+
+    private String applyOperation(CartOperationRequestDto operation,
+                                  Collection<Long> existingBookIds) {
+        if (operation.getType() == CartOperationRequestDto.Type.ADD) {
+            if (operation.getQuantity() < 1) {
+                return "Quantity must be at least 1.";
+            }
+            if (operation.getBookId() == null
+                    || !existingBookIds.contains(operation.getBookId())) {
+                return "Book with id " + operation.getBookId() + " not found.";
+            }
+            add(operation.getBookId(), operation.getQuantity());
+            return null;
+        }
+        Long itemId = operation.getCartItemId();
+        Long bookId = itemId == null ? null : findBookId(itemId);
+        if (bookId == null) {
+            return "Cart item with id " + itemId + " not found.";
+        }
+        if (operation.getType() == CartOperationRequestDto.Type.UPDATE) {
+            setQuantity(bookId, operation.getQuantity());
+        } else {
+            remove(itemId, bookId);
+        }
+        return null;
+    }
+}
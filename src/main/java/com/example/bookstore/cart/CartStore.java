@@ -0,0 +1,20 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.dto.CartOperationRequestDto;
+import com.example.bookstore.dto.CartOperationResultDto;
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface CartStore {
+    void add(Long userId, Long bookId, int quantity);
+
+    void updateQuantity(Long userId, Long cartItemId, int quantity);
+
+    void remove(Long userId, Long cartItemId);
+
+    List<CartOperationResultDto> apply(Long userId, List<CartOperationRequestDto> operations);
+
+    void flush(Long userId);
+
+    <T> T checkout(Long userId, Supplier<T> checkout);
+}
@@ -0,0 +1,90 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.dto.CartOperationRequestDto;
+import com.example.bookstore.dto.CartOperationResultDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.model.CartItem;
+import com.example.bookstore.model.ShoppingCart;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemJdbcRepository;
+import com.example.bookstore.repository.CartItemRepository;
+import com.example.bookstore.repository.ShoppingCartRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@ConditionalOnProperty(name = "bookstore.cart.storage", havingValue = "jpa",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaCartStore implements CartStore {
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
+    private final BookRepository bookRepository;
+
+    @Override
+    public void add(Long userId, Long bookId, int quantity) {
+        if (cartItemJdbcRepository.addQuantity(userId, bookId, quantity)) {
+            return;
+        }
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("Book with id " + bookId + " not found.");
+        }
+        throw new EntityNotFoundException("Shopping cart not found.");
+    }
+
+    @Override
+    public void updateQuantity(Long userId, Long cartItemId, int quantity) {
+        ShoppingCart cart = shoppingCartRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found."));
+        CartItem cartItem = cartItemRepository
+                .findByIdAndShoppingCart_Id(cartItemId, cart.getId())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Cart item with id " + cartItemId + " not found."));
+        cartItem.setQuantity(quantity);
+        cartItemRepository.save(cartItem);
+        shoppingCartRepository.save(cart);
+    }
+
+    @Override
+    public void remove(Long userId, Long cartItemId) {
+        ShoppingCart cart = shoppingCartRepository.findByUser_Id(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found."));
+        CartItem cartItem = cartItemRepository
+                .findByIdAndShoppingCart_Id(cartItemId, cart.getId())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Cart item with id " + cartItemId + " not found."));
+        cartItemRepository.delete(cartItem);
+        shoppingCartRepository.save(cart);
+    }
+
+    @Override
+    @Transactional
+    public List<CartOperationResultDto> apply(Long userId,
+                                              List<CartOperationRequestDto> operations) {
+        Set<Long> bookIds = CartState.findBookIdsToAdd(operations);
+        List<Long> existingBookIds = bookIds.isEmpty() ? List.of()
+                : bookRepository.findExistingIds(bookIds);
+        CartState cart = CartState.load(userId,
+                consumer -> cartItemJdbcRepository.lockCart(userId, consumer));
+        List<CartOperationResultDto> results = cart.apply(operations, existingBookIds);
+        cartItemJdbcRepository.saveCarts(Map.of(cart.getId(), cart.getChangedQuantities()),
+                Map.of(cart.getId(), cart.getRemovedBookIds()));
+        return results;
+    }
+
+    @Override
+    public void flush(Long userId) {
+    }
+
+    @Override
+    public <T> T checkout(Long userId, Supplier<T> checkout) {
+        return checkout.get();
+    }
+}
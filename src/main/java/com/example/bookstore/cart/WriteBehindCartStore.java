@@ -0,0 +1,239 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.dto.CartOperationRequestDto;
+import com.example.bookstore.dto.CartOperationResultDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shopping carts held in memory and written behind to {@code cart_items}. Each cart is
+ * guarded by one of a fixed set of striped locks, and a cart is only written while its
+ * stripe is held, so writes of the same cart never overtake each other. Dirty carts are
+ * flushed in one batch per stripe on a schedule and on shutdown, and synchronously before
+ * they are read from the database or checked out. A checkout commits its own transaction
+ * while the stripe is held, so the cart is dropped only once the order is committed and a
+ * failed checkout leaves the flushed cart in place. Clean carts left idle for ten minutes
+ * are dropped after a scheduled flush and loaded again on their next use.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.cart.storage", havingValue = "memory")
+@RequiredArgsConstructor
+public class WriteBehindCartStore implements CartStore {
+    private static final int LOCK_STRIPES = 64;
+    private static final long IDLE_CART_MILLIS = 10 * 60 * 1000L;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
+    private final BookRepository bookRepository;
+    private final Lock[] locks = newLocks();
+    private final Map<Long, CartState> cartsByUserId = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyUserIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void add(Long userId, Long bookId, int quantity) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("Book with id " + bookId + " not found.");
+        }
+        Lock lock = lockFor(userId);
+        lock.lock();
+        try {
+            load(userId).add(bookId, quantity);
+            dirtyUserIds.add(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void updateQuantity(Long userId, Long cartItemId, int quantity) {
+        Lock lock = lockFor(userId);
+        lock.lock();
+        try {
+            CartState cart = load(userId);
+            cart.setQuantity(findBookId(cart, cartItemId), quantity);
+            dirtyUserIds.add(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long userId, Long cartItemId) {
+        Lock lock = lockFor(userId);
+        lock.lock();
+        try {
+            CartState cart = load(userId);
+            cart.remove(cartItemId, findBookId(cart, cartItemId));
+            dirtyUserIds.add(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<CartOperationResultDto> apply(Long userId,
+                                              List<CartOperationRequestDto> operations) {
+        Set<Long> bookIds = CartState.findBookIdsToAdd(operations);
+        List<Long> existingBookIds = bookIds.isEmpty() ? List.of()
+                : bookRepository.findExistingIds(bookIds);
+        Lock lock = lockFor(userId);
+        lock.lock();
+        try {
+            CartState cart = load(userId);
+            Set<Long> unknownItemIds = CartState.findItemIds(operations);
+            unknownItemIds.removeAll(cart.getBookIdsByItemId().keySet());
+            cartItemJdbcRepository.findBookIdsByItemIds(cart.getId(), unknownItemIds)
+                    .forEach(cart::rememberItem);
+            List<CartOperationResultDto> results = cart.apply(operations, existingBookIds);
+            if (cart.hasChanges()) {
+                dirtyUserIds.add(userId);
+            }
+            return results;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush(Long userId) {
+        if (!dirtyUserIds.contains(userId)) {
+            return;
+        }
+        Lock lock = lockFor(userId);
+        lock.lock();
+        try {
+            write(List.of(userId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public <T> T checkout(Long userId, Supplier<T> checkout) {
+        Lock lock = lockFor(userId);
+        lock.lock();
+        try {
+            write(List.of(userId));
+            T result = checkout.get();
+            cartsByUserId.remove(userId);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${bookstore.cart.flush-delay-millis:1000}",
+            initialDelayString = "${bookstore.cart.flush-delay-millis:1000}")
+    public void flushAll() {
+        Map<Integer, List<Long>> userIdsByStripe = new HashMap<>();
+        for (Long userId : dirtyUserIds) {
+            userIdsByStripe.computeIfAbsent(stripeOf(userId), stripe -> new ArrayList<>())
+                    .add(userId);
+        }
+        userIdsByStripe.forEach((stripe, userIds) -> {
+            locks[stripe].lock();
+            try {
+                write(userIds);
+            } finally {
+                locks[stripe].unlock();
+            }
+        });
+        evictIdle(System.currentTimeMillis() - IDLE_CART_MILLIS);
+    }
+
+    void evictIdle(long usedBeforeMillis) {
+        for (CartState cart : cartsByUserId.values()) {
+            if (cart.getLastUsedMillis() >= usedBeforeMillis
+                    || dirtyUserIds.contains(cart.getUserId())) {
+                continue;
+            }
+            Lock lock = lockFor(cart.getUserId());
+            lock.lock();
+            try {
+                if (cart.getLastUsedMillis() < usedBeforeMillis
+                        && !dirtyUserIds.contains(cart.getUserId())) {
+                    cartsByUserId.remove(cart.getUserId(), cart);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void write(List<Long> userIds) {
+        Map<Long, Map<Long, Integer>> quantitiesByCartId = new HashMap<>();
+        Map<Long, Set<Long>> removedBookIdsByCartId = new HashMap<>();
+        List<CartState> carts = new ArrayList<>();
+        for (Long userId : userIds) {
+            CartState cart = cartsByUserId.get(userId);
+            if (cart != null && dirtyUserIds.contains(userId)) {
+                quantitiesByCartId.put(cart.getId(), cart.getChangedQuantities());
+                removedBookIdsByCartId.put(cart.getId(), new HashSet<>(cart.getRemovedBookIds()));
+                carts.add(cart);
+            }
+        }
+        if (carts.isEmpty()) {
+            return;
+        }
+        cartItemJdbcRepository.saveCarts(quantitiesByCartId, removedBookIdsByCartId);
+        for (CartState cart : carts) {
+            cart.clearChanges();
+            dirtyUserIds.remove(cart.getUserId());
+        }
+    }
+
+    private CartState load(Long userId) {
+        CartState cart = cartsByUserId.get(userId);
+        if (cart == null) {
+            cart = CartState.load(userId,
+                    consumer -> cartItemJdbcRepository.findCart(userId, consumer));
+            cartsByUserId.put(userId, cart);
+        }
+        cart.setLastUsedMillis(System.currentTimeMillis());
+        return cart;
+    }
+
+    private Long findBookId(CartState cart, Long cartItemId) {
+        if (cart.findBookId(cartItemId) == null) {
+            cartItemJdbcRepository.findBookIdsByItemIds(cart.getId(), List.of(cartItemId))
+                    .forEach(cart::rememberItem);
+        }
+        Long bookId = cart.findBookId(cartItemId);
+        if (bookId == null) {
+            throw new EntityNotFoundException(
+                    "Cart item with id " + cartItemId + " not found.");
+        }
+        return bookId;
+    }
+
+    private Lock lockFor(Long userId) {
+        return locks[stripeOf(userId)];
+    }
+
+    private static int stripeOf(Long userId) {
+        return Long.hashCode(userId) & (LOCK_STRIPES - 1);
+    }
+
+    private static Lock[] newLocks() {
+        Lock[] locks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
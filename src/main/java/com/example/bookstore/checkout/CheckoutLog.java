@@ -0,0 +1,326 @@
+package com.example.bookstore.checkout;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of queued order requests and their outcomes. Every record is length
+ * prefixed and checksummed, so a record torn by a crash ends the replay instead of being
+ * misread. Concurrent appends share one fsync: the first writer to sync covers every record
+ * written before it. On open the file is replayed and compacted down to the requests that
+ * are still waiting and the most recent failures clients may still ask about; while running
+ * it is compacted the same way whenever it has doubled in size since the last compaction.
+ * The directory is locked for as long as the log is open, since a second writer would
+ * interleave its records and compactions with ours.
+ */
+class CheckoutLog {
+    private static final String FILE_NAME = "queue.log";
+    private static final String COMPACTED_FILE_NAME = "queue.log.tmp";
+    private static final String LOCK_FILE_NAME = "queue.lock";
+    private static final byte ACCEPTED = 1;
+    private static final byte COMPLETED = 2;
+    private static final byte FAILED = 3;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+    private static final long MIN_COMPACTION_SIZE = 1024 * 1024;
+    private final Path file;
+    private final Path compactedFile;
+    private final int maxFailedOutcomes;
+    private final Map<String, CheckoutRequest> pendingRequests = new LinkedHashMap<>();
+    private final Map<String, CheckoutOutcome> failedOutcomes = new LinkedHashMap<>();
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private final FileChannel lockChannel;
+    private FileChannel channel;
+    private long written;
+    private long synced;
+    private long compactedSize;
+
+    CheckoutLog(Path directory, int maxFailedOutcomes) {
+        this.file = directory.resolve(FILE_NAME);
+        this.compactedFile = directory.resolve(COMPACTED_FILE_NAME);
+        this.maxFailedOutcomes = maxFailedOutcomes;
+        try {
+            Files.createDirectories(directory);
+            lockChannel = lock(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't open the checkout queue in " + directory, e);
+        }
+        try {
+            replay();
+            rewrite();
+            channel = open();
+        } catch (IOException e) {
+            closeQuietly(lockChannel);
+            throw new UncheckedIOException("Can't open the checkout queue in " + directory, e);
+        }
+    }
+
+    List<CheckoutRequest> getPendingRequests() {
+        synchronized (writeLock) {
+            return new ArrayList<>(pendingRequests.values());
+        }
+    }
+
+    Optional<CheckoutOutcome> findFailed(String requestId) {
+        synchronized (writeLock) {
+            return Optional.ofNullable(failedOutcomes.get(requestId));
+        }
+    }
+
+    void append(CheckoutRequest request) {
+        write(List.of(encode(request)),
+                () -> pendingRequests.put(request.getRequestId(), request));
+    }
+
+    void append(List<CheckoutOutcome> outcomes) {
+        write(outcomes.stream()
+                .map(CheckoutLog::encode)
+                .toList(), () -> outcomes.forEach(this::remember));
+    }
+
+    void compact() {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (!channel.isOpen()
+                        || written < Math.max(MIN_COMPACTION_SIZE, 2 * compactedSize)) {
+                    return;
+                }
+                FileChannel previous = channel;
+                try {
+                    rewrite();
+                    try {
+                        channel = open();
+                    } finally {
+                        previous.close();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Can't compact the checkout queue", e);
+                }
+            }
+        }
+    }
+
+    void close() {
+        synchronized (writeLock) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can't close the checkout queue", e);
+            } finally {
+                closeQuietly(lockChannel);
+            }
+        }
+    }
+
+    private void write(List<byte[]> records, Runnable onWritten) {
+        if (records.isEmpty()) {
+            return;
+        }
+        long end;
+        synchronized (writeLock) {
+            long start = written;
+            try {
+                for (byte[] record : records) {
+                    ByteBuffer buffer = ByteBuffer.wrap(record);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            } catch (IOException e) {
+                truncateQuietly(start);
+                throw new UncheckedIOException("Can't write to the checkout queue", e);
+            }
+            written = start + records.stream().mapToLong(record -> record.length).sum();
+            end = written;
+            onWritten.run();
+        }
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;
+            }
+            long target;
+            synchronized (writeLock) {
+                target = written;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Can't sync the checkout queue", e);
+            }
+            synced = target;
+        }
+    }
+
+    private FileChannel lock(Path directory) throws IOException {
+        // queue.log is replaced on every compaction, so the lock is held on a file that stays
+        FileChannel locked = FileChannel.open(directory.resolve(LOCK_FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (locked.tryLock() != null) {
+                return locked;
+            }
+        } catch (OverlappingFileLockException e) {
+            // held by another log in this JVM
+        }
+        closeQuietly(locked);
+        throw new IllegalStateException("The checkout queue in " + directory
+                + " is already in use");
+    }
+
+    private void closeQuietly(FileChannel toClose) {
+        try {
+            toClose.close();
+        } catch (IOException ignored) {
+            // closing the channel is all that is left to do with it
+        }
+    }
+
+    private void truncateQuietly(long size) {
+        try {
+            channel.truncate(size);
+        } catch (IOException ignored) {
+            // the torn record stops the replay, which is the best that can be done here
+        }
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(file)))) {
+            while (true) {
+                int size = input.readInt();
+                int checksum = input.readInt();
+                if (size <= 0 || size > MAX_RECORD_SIZE) {
+                    return;
+                }
+                byte[] payload = new byte[size];
+                input.readFully(payload);
+                if (checksum(payload) != checksum) {
+                    return;
+                }
+                apply(new DataInputStream(new ByteArrayInputStream(payload)));
+            }
+        } catch (EOFException e) {
+            // end of the log, possibly in the middle of a record torn by a crash
+        }
+    }
+
+    private void apply(DataInputStream record) throws IOException {
+        byte type = record.readByte();
+        String requestId = record.readUTF();
+        Long userId = record.readLong();
+        if (type == ACCEPTED) {
+            pendingRequests.put(requestId,
+                    new CheckoutRequest(requestId, userId, record.readUTF()));
+            return;
+        }
+        remember(type == FAILED
+                ? new CheckoutOutcome(requestId, userId, null, record.readUTF())
+                : new CheckoutOutcome(requestId, userId, record.readLong(), null));
+    }
+
+    private void remember(CheckoutOutcome outcome) {
+        pendingRequests.remove(outcome.getRequestId());
+        if (outcome.isFailed()) {
+            failedOutcomes.put(outcome.getRequestId(), outcome);
+            Iterator<String> oldest = failedOutcomes.keySet().iterator();
+            while (failedOutcomes.size() > maxFailedOutcomes) {
+                oldest.next();
+                oldest.remove();
+            }
+        }
+    }
+
+    private void rewrite() throws IOException {
+        try (OutputStream output = Files.newOutputStream(compactedFile)) {
+            for (CheckoutRequest request : pendingRequests.values()) {
+                output.write(encode(request));
+            }
+            for (CheckoutOutcome outcome : failedOutcomes.values()) {
+                output.write(encode(outcome));
+            }
+        }
+        try (FileChannel compacted = FileChannel.open(compactedFile, StandardOpenOption.WRITE)) {
+            compacted.force(true);
+        }
+        Files.move(compactedFile, file, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private FileChannel open() throws IOException {
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        written = opened.size();
+        synced = written;
+        compactedSize = written;
+        return opened;
+    }
+
+    private static byte[] encode(CheckoutRequest request) {
+        return encode(ACCEPTED, request.getRequestId(), request.getUserId(),
+                output -> output.writeUTF(request.getShippingAddress()));
+    }
+
+    private static byte[] encode(CheckoutOutcome outcome) {
+        if (outcome.isFailed()) {
+            return encode(FAILED, outcome.getRequestId(), outcome.getUserId(),
+                    output -> output.writeUTF(outcome.getMessage()));
+        }
+        return encode(COMPLETED, outcome.getRequestId(), outcome.getUserId(),
+                output -> output.writeLong(outcome.getOrderId()));
+    }
+
+    private static byte[] encode(byte type, String requestId, Long userId,
+                                 FieldWriter fieldWriter) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(payload)) {
+            output.writeByte(type);
+            output.writeUTF(requestId);
+            output.writeLong(userId);
+            fieldWriter.write(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't encode a checkout record", e);
+        }
+        byte[] bytes = payload.toByteArray();
+        return ByteBuffer.allocate(HEADER_SIZE + bytes.length)
+                .putInt(bytes.length)
+                .putInt(checksum(bytes))
+                .put(bytes)
+                .array();
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.bookstore.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CheckoutOutcome {
+    private final String requestId;
+    private final Long userId;
+    private final Long orderId;
+    private final String message;
+
+    public boolean isFailed() {
+        return orderId == null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.bookstore.checkout;
+
+import com.example.bookstore.dto.CreateOrderRequestDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.exception.InvalidRequestException;
+import com.example.bookstore.model.User;
+import com.example.bookstore.service.OrderService;
+import jakarta.annotation.PreDestroy;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Order requests accepted into a durable local queue and placed later by a pool of workers.
+ * A request is acknowledged only once it is synced to the {@link CheckoutLog}. Workers drain
+ * the queue in batches, place every order in its own transaction through
+ * {@link OrderService#createQueuedOrder} and sync the outcomes of a whole batch at once.
+ * Requests left unfinished by a restart are replayed; the request id stored with the order
+ * makes a replayed request return the order that was already placed instead of a new one.
+ * Only a rejected request is recorded as failed; any other error is treated as transient
+ * and the request is queued again after a pause.
+ */
+@Component
+@Slf4j
+public class CheckoutQueue {
+    private static final long POLL_MILLIS = 500;
+    private static final long RETRY_MILLIS = 1000;
+    private static final long SHUTDOWN_SECONDS = 30;
+    private static final int MAX_MESSAGE_LENGTH = 255;
+    private final OrderService orderService;
+    private final CheckoutLog checkoutLog;
+    private final int workers;
+    private final int batchSize;
+    private final BlockingQueue<CheckoutRequest> pendingRequests = new LinkedBlockingQueue<>();
+    private final Map<String, CheckoutRequest> queuedRequests = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public CheckoutQueue(OrderService orderService,
+                         @Value("${bookstore.checkout.directory:checkout}") String directory,
+                         @Value("${bookstore.checkout.workers:4}") int workers,
+                         @Value("${bookstore.checkout.batch-size:100}") int batchSize,
+                         @Value("${bookstore.checkout.max-failed-outcomes:10000}")
+                         int maxFailedOutcomes) {
+        this.orderService = orderService;
+        this.checkoutLog = new CheckoutLog(Paths.get(directory).toAbsolutePath().normalize(),
+                maxFailedOutcomes);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        for (CheckoutRequest request : checkoutLog.getPendingRequests()) {
+            queuedRequests.put(request.getRequestId(), request);
+            pendingRequests.add(request);
+        }
+    }
+
+    public CheckoutRequest submit(Long userId, String shippingAddress) {
+        CheckoutRequest request = new CheckoutRequest(UUID.randomUUID().toString(), userId,
+                shippingAddress);
+        checkoutLog.append(request);
+        queuedRequests.put(request.getRequestId(), request);
+        pendingRequests.add(request);
+        return request;
+    }
+
+    public Optional<CheckoutRequest> findQueued(String requestId) {
+        return Optional.ofNullable(queuedRequests.get(requestId));
+    }
+
+    public Optional<CheckoutOutcome> findFailed(String requestId) {
+        return checkoutLog.findFailed(requestId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        executor = Executors.newFixedThreadPool(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkoutLog.close();
+    }
+
+    private void drain() {
+        List<CheckoutRequest> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                CheckoutRequest first = pendingRequests.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingRequests.drainTo(batch, batchSize - 1);
+                if (!place(batch)) {
+                    Thread.sleep(RETRY_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bookstore.checkout.compact-delay-millis:60000}",
+            initialDelayString = "${bookstore.checkout.compact-delay-millis:60000}")
+    public void compactLog() {
+        checkoutLog.compact();
+    }
+
+    private boolean place(List<CheckoutRequest> batch) {
+        List<CheckoutOutcome> outcomes = new ArrayList<>(batch.size());
+        List<CheckoutRequest> retries = new ArrayList<>();
+        for (CheckoutRequest request : batch) {
+            CheckoutOutcome outcome = place(request);
+            if (outcome == null) {
+                retries.add(request);
+            } else {
+                outcomes.add(outcome);
+            }
+        }
+        try {
+            checkoutLog.append(outcomes);
+        } catch (UncheckedIOException e) {
+            // placed orders are found again by their request id when the batch is retried
+            log.error("Can't record the outcomes of {} checkout requests, they stay queued",
+                    outcomes.size(), e);
+            pendingRequests.addAll(batch);
+            return false;
+        }
+        for (CheckoutOutcome outcome : outcomes) {
+            queuedRequests.remove(outcome.getRequestId());
+        }
+        pendingRequests.addAll(retries);
+        return retries.isEmpty();
+    }
+
+    private CheckoutOutcome place(CheckoutRequest request) {
+        User user = new User();
+        user.setId(request.getUserId());
+        CreateOrderRequestDto requestDto = new CreateOrderRequestDto();
+        requestDto.setShippingAddress(request.getShippingAddress());
+        try {
+            Long orderId = orderService.createQueuedOrder(user, requestDto,
+                    request.getRequestId());
+            return new CheckoutOutcome(request.getRequestId(), request.getUserId(), orderId,
+                    null);
+        } catch (EntityNotFoundException | InvalidRequestException e) {
+            return failed(request, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Can't place the order of checkout request {}, it stays queued",
+                    request.getRequestId(), e);
+            return null;
+        }
+    }
+
+    private CheckoutOutcome failed(CheckoutRequest request, String message) {
+        String text = message == null ? "" : message;
+        return new CheckoutOutcome(request.getRequestId(), request.getUserId(), null,
+                text.substring(0, Math.min(text.length(), MAX_MESSAGE_LENGTH)));
+    }
+}
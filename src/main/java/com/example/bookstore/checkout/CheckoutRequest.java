@@ -0,0 +1,12 @@
+package com.example.bookstore.checkout;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CheckoutRequest {
+    private final String requestId;
+    private final Long userId;
+    private final String shippingAddress;
+}
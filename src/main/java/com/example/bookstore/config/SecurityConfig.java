@@ -4,6 +4,7 @@ import com.example.bookstore.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -38,6 +39,8 @@ public class SecurityConfig {
                         auth -> auth
                                 .requestMatchers("/api/auth/**")
                                 .permitAll()
+                                .requestMatchers(HttpMethod.GET, "/api/covers/**")
+                                .permitAll()
                                 .anyRequest()
                                 .authenticated()
                 )
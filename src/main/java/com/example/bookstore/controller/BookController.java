@@ -1,15 +1,34 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.BestsellerDto;
+import com.example.bookstore.dto.BookBrowsePageDto;
+import com.example.bookstore.dto.BookBrowseRequestDto;
+import com.example.bookstore.dto.BookCursorPageDto;
 import com.example.bookstore.dto.BookDto;
+import com.example.bookstore.dto.BookImportReportDto;
+import com.example.bookstore.dto.BookPageDto;
+import com.example.bookstore.dto.CoverImageDto;
 import com.example.bookstore.dto.CreateBookRequestDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.dto.SuggestionDto;
+import com.example.bookstore.exception.InvalidRequestException;
+import com.example.bookstore.search.BestsellerPeriod;
+import com.example.bookstore.service.BookBrowseService;
+import com.example.bookstore.service.BookExportService;
+import com.example.bookstore.service.BookImportService;
 import com.example.bookstore.service.BookService;
+import com.example.bookstore.service.CoverImageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,8 +37,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management", description = "Endpoints for managing books")
 @RestController
@@ -27,19 +49,130 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookBrowseService bookBrowseService;
+    private final CoverImageService coverImageService;
 
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping
     @Operation(summary = "Get all books")
-    public List<BookDto> getAll(Pageable pageable) {
+    public List<BookDto> getAll(Pageable pageable, WebRequest webRequest) {
+        ResourceVersionDto version = bookService.getCatalogVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
         return bookService.findAll(pageable);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get all books using a continuation cursor",
+            description = "Pass an empty cursor for the first page and the returned "
+                    + "nextCursor for the following ones")
+    public BookCursorPageDto getAllByCursor(@RequestParam String cursor,
+                                            @RequestParam(defaultValue = "20") int size) {
+        return bookService.findAllAfter(cursor, size);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/search")
+    @Operation(summary = "Search books by title, author, description or isbn")
+    public List<BookDto> search(@RequestParam("q") String query,
+                                @RequestParam(defaultValue = "20") int size) {
+        return bookService.search(query, size);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest title and author completions for a prefix")
+    public List<SuggestionDto> suggest(@RequestParam String prefix,
+                                       @RequestParam(defaultValue = "10") int size) {
+        return bookService.suggest(prefix, size);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/isbn/{isbn}")
+    @Operation(summary = "Get a book by isbn",
+            description = "Accepts ISBN-10 or ISBN-13, with or without hyphens")
+    public BookDto getByIsbn(@PathVariable String isbn) {
+        return bookService.getByIsbn(isbn);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/isbn")
+    @Operation(summary = "Get books by a batch of isbns",
+            description = "Up to 100 isbns, unknown ones are left out of the result")
+    public List<BookDto> getAllByIsbns(@RequestParam("isbn") List<String> isbns) {
+        return bookService.findAllByIsbns(isbns);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/bestsellers")
+    @Operation(summary = "Get the best selling books of the last day, week or month")
+    public List<BestsellerDto> getBestsellers(
+            @RequestParam(defaultValue = "WEEK") BestsellerPeriod period,
+            @RequestParam(defaultValue = "10") int size) {
+        return bookService.findBestsellers(null, period, size);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/browse")
+    @Operation(summary = "Browse books with author, category and price facet counts",
+            description = "Books can be sorted by price, title or author")
+    public BookBrowsePageDto browse(BookBrowseRequestDto filter, Pageable pageable) {
+        return bookBrowseService.browse(filter, pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/filter")
+    @Operation(summary = "Filter books by categories",
+            description = "Books must belong to every category in all, to at least one "
+                    + "category in any and to none of the categories in none")
+    public BookPageDto filterByCategories(@RequestParam(defaultValue = "") Set<Long> all,
+                                          @RequestParam(defaultValue = "") Set<Long> any,
+                                          @RequestParam(defaultValue = "") Set<Long> none,
+                                          Pageable pageable) {
+        return bookService.filterByCategories(all, any, none, pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/export")
+    @Operation(summary = "Export all books as newline-delimited JSON or CSV")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        if ("ndjson".equals(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .body(bookExportService::exportNdjson);
+        }
+        if ("csv".equals(format)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .body(bookExportService::exportCsv);
+        }
+        throw new InvalidRequestException("Unsupported export format " + format);
+    }
+
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/{id}")
     @Operation(summary = "Get a book by id")
-    public BookDto getById(@PathVariable Long id) {
-        return bookService.getById(id);
+    public BookDto getById(@PathVariable Long id, WebRequest webRequest) {
+        BookDto book = bookService.getById(id);
+        ResourceVersionDto version = book.getVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return book;
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get books customers also bought with a book",
+            description = "Ranked by the number of orders containing both books")
+    public List<BookDto> getRelated(@PathVariable Long id,
+                                    @RequestParam(defaultValue = "10") int size) {
+        return bookService.findRelated(id, size);
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -50,6 +183,24 @@ public class BookController {
         return bookService.save(bookDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Import books from newline-delimited JSON",
+            description = "Each line is a book in the create request format")
+    public BookImportReportDto importNdjson(InputStream inputStream) {
+        return bookImportService.importNdjson(inputStream);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import books from CSV",
+            description = "The header names the columns title, author, isbn, price, "
+                    + "description, coverImage and categoryIds, category ids are "
+                    + "separated by ';'")
+    public BookImportReportDto importCsv(InputStream inputStream) {
+        return bookImportService.importCsv(inputStream);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PutMapping("/{id}")
     @Operation(summary = "Update a book by id")
@@ -58,6 +209,14 @@ public class BookController {
         return bookService.update(id, bookRequestDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PutMapping(value = "/{id}/cover", consumes = {"image/jpeg", "image/png"})
+    @Operation(summary = "Upload a cover image for a book",
+            description = "Thumbnails are rendered once during the upload")
+    public CoverImageDto uploadCover(@PathVariable Long id, InputStream inputStream) {
+        return coverImageService.upload(id, inputStream);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a book by id")
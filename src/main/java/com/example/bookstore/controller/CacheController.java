@@ -0,0 +1,27 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.dto.CacheStatsDto;
+import com.example.bookstore.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Cache management", description = "Endpoints for monitoring local caches")
+@RestController
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+public class CacheController {
+    private final CacheStatsService cacheStatsService;
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping
+    @Operation(summary = "Get hit, miss and eviction counters of all caches")
+    public List<CacheStatsDto> getAll() {
+        return cacheStatsService.getAll();
+    }
+}
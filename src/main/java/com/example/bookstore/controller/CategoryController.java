@@ -1,8 +1,12 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.BestsellerDto;
 import com.example.bookstore.dto.BookDtoWithoutCategoryIds;
 import com.example.bookstore.dto.CategoryRequestDto;
 import com.example.bookstore.dto.CategoryResponseDto;
+import com.example.bookstore.dto.CategoryTreeDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.search.BestsellerPeriod;
 import com.example.bookstore.service.BookService;
 import com.example.bookstore.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +16,7 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,8 +25,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -39,17 +46,56 @@ public class CategoryController {
         return categoryService.save(categoryDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping(params = {"!page", "!size"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get all categories",
+            description = "Categories are ordered by id")
+    public byte[] getAll(WebRequest webRequest) {
+        ResourceVersionDto version = categoryService.getAllVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return categoryService.findAllAsJson();
+    }
+
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping
-    @Operation(summary = "Get all categories")
-    public List<CategoryResponseDto> getAll(Pageable pageable) {
+    @Operation(summary = "Get a page of categories",
+            description = "Categories are ordered by id")
+    public List<CategoryResponseDto> getPage(Pageable pageable, WebRequest webRequest) {
+        ResourceVersionDto version = categoryService.getAllVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
         return categoryService.findAll(pageable);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/tree")
+    @Operation(summary = "Get all categories as a tree for menus")
+    public List<CategoryTreeDto> getTree(WebRequest webRequest) {
+        ResourceVersionDto version = categoryService.getAllVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return categoryService.getTree();
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/{id}/breadcrumbs")
+    @Operation(summary = "Get the path from the root category down to a category")
+    public List<CategoryResponseDto> getBreadcrumbs(@PathVariable Long id) {
+        return categoryService.getBreadcrumbs(id);
+    }
+
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/{id}")
     @Operation(summary = "Get category by id")
-    public CategoryResponseDto getCategoryById(@PathVariable Long id) {
+    public CategoryResponseDto getCategoryById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersionDto version = categoryService.getVersionById(id);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
         return categoryService.getById(id);
     }
 
@@ -71,8 +117,27 @@ public class CategoryController {
 
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/{id}/books")
-    @Operation(summary = "Get all books by category id")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id) {
-        return bookService.findAllByCategoryId(id);
+    @Operation(summary = "Get all books by category id",
+            description = "With includeSubcategories, books anywhere under the category")
+    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeSubcategories,
+            WebRequest webRequest) {
+        ResourceVersionDto version = bookService.getCatalogVersion();
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return includeSubcategories ? bookService.findAllByCategorySubtree(id)
+                : bookService.findAllByCategoryId(id);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/{id}/bestsellers")
+    @Operation(summary = "Get the best selling books of a category")
+    public List<BestsellerDto> getBestsellersByCategoryId(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "WEEK") BestsellerPeriod period,
+            @RequestParam(defaultValue = "10") int size) {
+        return bookService.findBestsellers(id, period, size);
     }
 }
@@ -0,0 +1,109 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.storage.CoverImageStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@Tag(name = "Cover images", description = "Endpoints for downloading book cover images")
+@RestController
+@RequestMapping("/api/covers")
+@RequiredArgsConstructor
+public class CoverImageController {
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private final CoverImageStore coverImageStore;
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Download a cover image or one of its thumbnails",
+            description = "Supports single byte ranges, images never change under a name")
+    public void getCover(@PathVariable String name, WebRequest webRequest,
+                         HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = coverImageStore.find(name).orElseThrow(() ->
+                new EntityNotFoundException("Cover image " + name + " not found"));
+        long length = Files.size(file);
+        if (isNotModified(name, webRequest, response)) {
+            return;
+        }
+        long end = length - 1;
+        long start = 0;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        Matcher matcher = range == null ? null : RANGE.matcher(range);
+        if (matcher != null && matcher.matches()
+                && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            try {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, length - Long.parseLong(matcher.group(2)));
+                } else {
+                    start = Long.parseLong(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(end, Long.parseLong(matcher.group(2)));
+                    }
+                }
+            } catch (NumberFormatException e) {
+                start = length;
+            }
+            if (start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(coverImageStore.getContentType(name));
+        response.setContentLengthLong(end - start + 1);
+        send(file, start, end, request, response);
+    }
+
+    private boolean isNotModified(String name, WebRequest webRequest,
+                                  HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        return webRequest.checkNotModified(name);
+    }
+
+    private void send(Path file, long start, long end, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, output);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
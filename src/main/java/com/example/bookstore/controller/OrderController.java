@@ -1,11 +1,18 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.BulkUpdateOrderStatusReportDto;
+import com.example.bookstore.dto.BulkUpdateOrderStatusRequestDto;
 import com.example.bookstore.dto.CreateOrderRequestDto;
 import com.example.bookstore.dto.OrderItemResponseDto;
+import com.example.bookstore.dto.OrderRequestStatusDto;
 import com.example.bookstore.dto.OrderResponseDto;
+import com.example.bookstore.dto.OrderSummaryDto;
+import com.example.bookstore.dto.OrderSummaryRebuildReportDto;
 import com.example.bookstore.dto.UpdateOrderRequestDto;
 import com.example.bookstore.model.User;
+import com.example.bookstore.service.OrderRequestService;
 import com.example.bookstore.service.OrderService;
+import com.example.bookstore.service.OrderSummaryService;
 import com.example.bookstore.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +20,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -33,6 +41,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
     private final OrderService orderService;
     private final UserService userService;
+    private final OrderSummaryService orderSummaryService;
+    private final OrderRequestService orderRequestService;
 
     @PreAuthorize("hasRole('ROLE_USER')")
     @PostMapping
@@ -43,11 +53,57 @@ public class OrderController {
         return orderService.createOrder(getUser(auth), requestDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @PostMapping("/requests")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Queue a new order and return the id of the order request")
+    OrderRequestStatusDto submitOrder(Authentication auth,
+                                      @RequestBody @Valid CreateOrderRequestDto requestDto) {
+        return orderRequestService.submit(getUser(auth), requestDto);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/requests/{requestId}")
+    @Operation(summary = "Get the outcome of a queued order request")
+    OrderRequestStatusDto getOrderRequest(Authentication auth, @PathVariable String requestId) {
+        return orderRequestService.getStatus(getUser(auth), requestId);
+    }
+
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping
-    @Operation(summary = "Get all user's orders")
-    List<OrderResponseDto> getAllOrders(Authentication auth) {
-        return orderService.getAllOrders(getUser(auth));
+    @Operation(summary = "Get a page of user's orders, newest first")
+    List<OrderResponseDto> getAllOrders(Authentication auth, Pageable pageable) {
+        return orderService.getAllOrders(getUser(auth), pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/summaries")
+    @Operation(summary = "Get a page of user's order summaries, newest first")
+    List<OrderSummaryDto> getSummaries(Authentication auth, Pageable pageable) {
+        return orderSummaryService.findAllByUser(getUser(auth), pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/summaries/all")
+    @Operation(summary = "Get a page of all order summaries, newest first")
+    List<OrderSummaryDto> getAllSummaries(Pageable pageable) {
+        return orderSummaryService.findAll(pageable);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/summaries/rebuild")
+    @Operation(summary = "Rebuild order summaries from orders and their items")
+    OrderSummaryRebuildReportDto rebuildSummaries() {
+        return orderSummaryService.rebuild();
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PatchMapping
+    @Operation(summary = "Move a list of orders, or orders placed in a date range, "
+            + "forward to a new status")
+    BulkUpdateOrderStatusReportDto updateStatuses(
+            @RequestBody @Valid BulkUpdateOrderStatusRequestDto requestDto) {
+        return orderService.updateStatuses(requestDto);
     }
 
     @PreAuthorize("hasRole('ROLE_ADMIN')")
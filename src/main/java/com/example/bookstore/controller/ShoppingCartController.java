@@ -1,5 +1,7 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.CartBatchRequestDto;
+import com.example.bookstore.dto.CartBatchResponseDto;
 import com.example.bookstore.dto.CartItemRequestDto;
 import com.example.bookstore.dto.ShoppingCartResponseDto;
 import com.example.bookstore.dto.UpdateQuantityRequestDto;
@@ -16,6 +18,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -34,11 +37,20 @@ public class ShoppingCartController {
 
     @PreAuthorize("hasRole('ROLE_USER')")
     @PostMapping
-    @Operation(summary = "Add new cart item to shopping cart")
+    @Operation(summary = "Add a book to the shopping cart or increase its quantity")
     public void addToCart(Authentication auth, @RequestBody @Valid CartItemRequestDto requestDto) {
         cartService.addToCart(getUser(auth), requestDto);
     }
 
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @PatchMapping
+    @Operation(summary = "Apply an ordered batch of add, update and remove operations "
+            + "to the shopping cart")
+    public CartBatchResponseDto applyOperations(
+            Authentication auth, @RequestBody @Valid CartBatchRequestDto requestDto) {
+        return cartService.applyOperations(getUser(auth), requestDto);
+    }
+
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping
     @Operation(summary = "Get all items from the shopping cart")
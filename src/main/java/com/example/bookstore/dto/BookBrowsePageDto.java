@@ -0,0 +1,13 @@
+package com.example.bookstore.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BookBrowsePageDto {
+    private List<BookDto> books;
+    private long totalElements;
+    private BookFacetsDto facets;
+}
@@ -0,0 +1,15 @@
+package com.example.bookstore.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BookBrowseRequestDto {
+    private List<String> authors;
+    private Long categoryId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
@@ -1,5 +1,6 @@
 package com.example.bookstore.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 import java.util.Set;
 import lombok.Getter;
@@ -16,4 +17,6 @@ public class BookDto {
     private String description;
     private String coverImage;
     private Set<Long> categoryIds;
+    @JsonIgnore
+    private ResourceVersionDto version;
 }
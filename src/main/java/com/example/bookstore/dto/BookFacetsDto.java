@@ -0,0 +1,13 @@
+package com.example.bookstore.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BookFacetsDto {
+    private List<FacetValueDto> authors;
+    private List<FacetValueDto> categories;
+    private List<FacetValueDto> prices;
+}
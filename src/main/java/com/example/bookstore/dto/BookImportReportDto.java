@@ -0,0 +1,16 @@
+package com.example.bookstore.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BookImportReportDto {
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private List<BookImportErrorDto> errors;
+    private long durationMillis;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,12 @@
+package com.example.bookstore.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BookPageDto {
+    private List<BookDto> books;
+    private long totalElements;
+}
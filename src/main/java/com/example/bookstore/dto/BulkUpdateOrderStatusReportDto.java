@@ -0,0 +1,16 @@
+package com.example.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@Getter
+@NoArgsConstructor
+@Setter
+public class BulkUpdateOrderStatusReportDto {
+    private long updated;
+    private long skipped;
+    private long notFound;
+}
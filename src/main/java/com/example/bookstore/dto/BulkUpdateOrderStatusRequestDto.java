@@ -0,0 +1,21 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.model.Order;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkUpdateOrderStatusRequestDto {
+    @Size(max = 10000)
+    private List<Long> orderIds;
+    private Order.Status currentStatus;
+    private LocalDateTime orderDateFrom;
+    private LocalDateTime orderDateTo;
+    @NotNull
+    private Order.Status status;
+}
@@ -0,0 +1,17 @@
+package com.example.bookstore.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CartBatchRequestDto {
+    @NotEmpty
+    @Size(max = 100)
+    @Valid
+    private List<CartOperationRequestDto> operations;
+}
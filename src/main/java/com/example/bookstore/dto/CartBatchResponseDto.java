@@ -0,0 +1,12 @@
+package com.example.bookstore.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class CartBatchResponseDto {
+    private ShoppingCartResponseDto cart;
+    private List<CartOperationResultDto> results;
+}
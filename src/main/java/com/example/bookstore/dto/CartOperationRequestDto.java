@@ -0,0 +1,23 @@
+package com.example.bookstore.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CartOperationRequestDto {
+    @NotNull
+    private Type type;
+    private Long bookId;
+    private Long cartItemId;
+    @Min(0)
+    private int quantity;
+
+    public enum Type {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+}
@@ -10,4 +10,5 @@ public class CategoryRequestDto {
     @NotBlank
     private String name;
     private String description;
+    private Long parentId;
 }
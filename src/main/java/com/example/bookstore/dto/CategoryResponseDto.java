@@ -9,4 +9,5 @@ public class CategoryResponseDto {
     private Long id;
     private String name;
     private String description;
+    private Long parentId;
 }
@@ -0,0 +1,13 @@
+package com.example.bookstore.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class CategoryTreeDto {
+    private Long id;
+    private String name;
+    private List<CategoryTreeDto> children;
+}
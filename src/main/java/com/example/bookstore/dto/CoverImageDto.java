@@ -0,0 +1,12 @@
+package com.example.bookstore.dto;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class CoverImageDto {
+    private String url;
+    private Map<Integer, String> thumbnails;
+}
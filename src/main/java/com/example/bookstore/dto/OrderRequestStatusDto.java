@@ -0,0 +1,17 @@
+package com.example.bookstore.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class OrderRequestStatusDto {
+    private String requestId;
+    private Status status;
+    private Long orderId;
+    private String message;
+
+    public enum Status {
+        QUEUED, COMPLETED, FAILED
+    }
+}
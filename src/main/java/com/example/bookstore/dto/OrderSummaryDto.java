@@ -0,0 +1,19 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.model.Order;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class OrderSummaryDto {
+    private Long orderId;
+    private Long userId;
+    private LocalDateTime orderDate;
+    private Order.Status status;
+    private BigDecimal total;
+    private int itemCount;
+    private String firstBookTitle;
+}
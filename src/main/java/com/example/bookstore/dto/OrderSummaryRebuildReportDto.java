@@ -0,0 +1,15 @@
+package com.example.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@Getter
+@NoArgsConstructor
+@Setter
+public class OrderSummaryRebuildReportDto {
+    private long orderSummaries;
+    private long durationMillis;
+}
@@ -0,0 +1,11 @@
+package com.example.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class ResourceVersionDto {
+    private final String etag;
+    private final long lastModified;
+}
@@ -0,0 +1,20 @@
+package com.example.bookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class SuggestionDto {
+    private String text;
+    private Type type;
+    private Long bookId;
+
+    public enum Type {
+        TITLE, AUTHOR
+    }
+}
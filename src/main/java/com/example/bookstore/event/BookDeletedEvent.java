@@ -0,0 +1,10 @@
+package com.example.bookstore.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookDeletedEvent {
+    private final Long bookId;
+}
@@ -0,0 +1,11 @@
+package com.example.bookstore.event;
+
+import com.example.bookstore.dto.BookDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookSavedEvent {
+    private final BookDto book;
+}
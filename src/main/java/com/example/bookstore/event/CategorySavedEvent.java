@@ -0,0 +1,11 @@
+package com.example.bookstore.event;
+
+import com.example.bookstore.dto.CategoryResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CategorySavedEvent {
+    private final CategoryResponseDto category;
+}
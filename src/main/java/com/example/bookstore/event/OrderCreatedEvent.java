@@ -0,0 +1,19 @@
+package com.example.bookstore.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderCreatedEvent {
+    private final Long orderId;
+    private final LocalDateTime orderDate;
+    private final Map<Long, Integer> quantitiesByBookId;
+
+    public Set<Long> getBookIds() {
+        return quantitiesByBookId.keySet();
+    }
+}
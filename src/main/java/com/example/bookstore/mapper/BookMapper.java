@@ -6,6 +6,11 @@ import com.example.bookstore.dto.BookDtoWithoutCategoryIds;
 import com.example.bookstore.dto.CreateBookRequestDto;
 import com.example.bookstore.model.Book;
 import com.example.bookstore.model.Category;
+import com.example.bookstore.repository.projection.BookCategoryIdView;
+import com.example.bookstore.repository.projection.BookView;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.mapstruct.AfterMapping;
@@ -19,10 +24,36 @@ public interface BookMapper {
     Book toModel(CreateBookRequestDto dto);
 
     @Mapping(target = "categoryIds", ignore = true)
+    @Mapping(target = "version", ignore = true)
     BookDto toDto(Book book);
 
+    @Mapping(target = "categoryIds", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    BookDto toDto(BookView view);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    BookDto toDto(CreateBookRequestDto dto);
+
     BookDtoWithoutCategoryIds toDtoWithoutCategories(Book book);
 
+    BookDtoWithoutCategoryIds toDtoWithoutCategories(BookView view);
+
+    default List<BookDto> toDtos(List<BookView> views, List<BookCategoryIdView> categoryIds) {
+        Map<Long, Set<Long>> categoryIdsByBookId = categoryIds.stream()
+                .collect(Collectors.groupingBy(BookCategoryIdView::getBookId,
+                        Collectors.mapping(BookCategoryIdView::getCategoryId,
+                                Collectors.toSet())));
+        return views.stream()
+                .map(view -> {
+                    BookDto bookDto = toDto(view);
+                    bookDto.setCategoryIds(categoryIdsByBookId.getOrDefault(view.getId(),
+                            new HashSet<>()));
+                    return bookDto;
+                })
+                .collect(Collectors.toList());
+    }
+
     @AfterMapping
     default void setCategoryIds(@MappingTarget BookDto bookDto, Book book) {
         if (book.getCategories() == null) {
@@ -4,6 +4,7 @@ import com.example.bookstore.config.MapperConfig;
 import com.example.bookstore.dto.CartItemRequestDto;
 import com.example.bookstore.dto.CartItemResponseDto;
 import com.example.bookstore.model.CartItem;
+import com.example.bookstore.repository.projection.CartItemView;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -17,6 +18,8 @@ public interface CartItemMapper {
 
     CartItemResponseDto toDto(CartItem cartItem);
 
+    CartItemResponseDto toDto(CartItemView view);
+
     @AfterMapping
     default void setBookIdAndTitle(@MappingTarget CartItemResponseDto responseDto,
                                    CartItem cartItem) {
@@ -3,6 +3,7 @@ package com.example.bookstore.mapper;
 import com.example.bookstore.config.MapperConfig;
 import com.example.bookstore.dto.OrderItemResponseDto;
 import com.example.bookstore.model.OrderItem;
+import com.example.bookstore.repository.projection.OrderItemView;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
@@ -11,6 +12,8 @@ import org.mapstruct.MappingTarget;
 public interface OrderItemMapper {
     OrderItemResponseDto toDto(OrderItem item);
 
+    OrderItemResponseDto toDto(OrderItemView view);
+
     @AfterMapping
     default void setBookId(@MappingTarget OrderItemResponseDto responseDto, OrderItem item) {
         responseDto.setBookId(item.getBook().getId());
@@ -3,14 +3,19 @@ package com.example.bookstore.mapper;
 import com.example.bookstore.config.MapperConfig;
 import com.example.bookstore.dto.OrderResponseDto;
 import com.example.bookstore.model.Order;
+import com.example.bookstore.repository.projection.OrderView;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(config = MapperConfig.class, uses = OrderItemMapper.class)
 public interface OrderMapper {
     OrderResponseDto toDto(Order order);
 
+    @Mapping(target = "orderItems", ignore = true)
+    OrderResponseDto toDto(OrderView view);
+
     @AfterMapping
     default void setUserId(@MappingTarget OrderResponseDto responseDto, Order order) {
         responseDto.setUserId(order.getUser().getId());
@@ -11,6 +11,7 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.Getter;
@@ -40,6 +41,10 @@ public class Book {
     private String coverImage;
     @Column(nullable = false)
     private boolean isDeleted;
+    @Column(nullable = false)
+    private long version;
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
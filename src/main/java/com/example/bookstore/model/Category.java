@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.SQLDelete;
@@ -24,6 +25,11 @@ public class Category {
     @Column(nullable = false)
     private String name;
     private String description;
+    private Long parentId;
     @Column(nullable = false)
     private boolean isDeleted;
+    @Column(nullable = false)
+    private long version;
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
 }
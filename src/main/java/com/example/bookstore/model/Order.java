@@ -2,6 +2,7 @@ package com.example.bookstore.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -27,7 +28,7 @@ public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(nullable = false)
     private User user;
     @Column(nullable = false)
@@ -38,12 +39,17 @@ public class Order {
     private LocalDateTime orderDate;
     @Column(nullable = false)
     private String shippingAddress;
+    private String requestId;
     @OneToMany(mappedBy = "order")
     private Set<OrderItem> orderItems;
     @Column(nullable = false)
     private boolean isDeleted;
 
     public enum Status {
-        PENDING, DELIVERED, COMPLETED
+        PENDING, DELIVERED, COMPLETED;
+
+        public boolean canMoveTo(Status status) {
+            return status.ordinal() > ordinal();
+        }
     }
 }
@@ -0,0 +1,118 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.BookBrowseRequestDto;
+import com.example.bookstore.dto.BookFacetsDto;
+import com.example.bookstore.dto.FacetValueDto;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookFacetRepository {
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "price", "b.price",
+            "title", "b.title",
+            "author", "b.author");
+    private static final List<BigDecimal> PRICE_BUCKET_BOUNDS = List.of(BigDecimal.valueOf(10),
+            BigDecimal.valueOf(20), BigDecimal.valueOf(50), BigDecimal.valueOf(100));
+    private static final String PRICE_BUCKET = priceBucketExpression();
+    private static final int MAX_AUTHOR_FACETS = 20;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public static boolean isSortable(String property) {
+        return SORT_COLUMNS.containsKey(property);
+    }
+
+    public List<Long> findIds(BookBrowseRequestDto filter, Sort.Order order, long offset,
+                              int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        String direction = order.isAscending() ? " ASC" : " DESC";
+        return jdbcTemplate.queryForList("SELECT b.id FROM books b" + where(filter, params)
+                + " ORDER BY " + SORT_COLUMNS.get(order.getProperty()) + direction
+                + ", b.id" + direction + " LIMIT :limit OFFSET :offset", params, Long.class);
+    }
+
+    public BookFacetsDto countFacets(BookBrowseRequestDto filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = where(filter, params);
+        long[] prices = new long[PRICE_BUCKET_BOUNDS.size() + 1];
+        jdbcTemplate.query("SELECT " + PRICE_BUCKET + " AS bucket, COUNT(*) AS books "
+                + "FROM books b" + where + " GROUP BY bucket",
+                params, rs -> {
+                    prices[rs.getInt("bucket")] = rs.getLong("books");
+                });
+        params.addValue("authorLimit", MAX_AUTHOR_FACETS);
+        List<FacetValueDto> authors = jdbcTemplate.query("SELECT b.author AS author, "
+                + "COUNT(*) AS books FROM books b" + where
+                + " GROUP BY b.author ORDER BY books DESC, b.author LIMIT :authorLimit",
+                params, (rs, rowNum) -> new FacetValueDto(rs.getString("author"),
+                        rs.getLong("books")));
+        List<FacetValueDto> categories = jdbcTemplate.query("SELECT bc.category_id AS id, "
+                + "COUNT(*) AS books FROM books b "
+                + "JOIN books_categories bc ON bc.book_id = b.id "
+                + "JOIN categories c ON c.id = bc.category_id AND c.is_deleted = false"
+                + where + " GROUP BY bc.category_id ORDER BY books DESC, bc.category_id",
+                params, (rs, rowNum) -> new FacetValueDto(rs.getString("id"),
+                        rs.getLong("books")));
+        BookFacetsDto facets = new BookFacetsDto();
+        facets.setAuthors(authors);
+        facets.setCategories(categories);
+        facets.setPrices(priceFacets(prices));
+        return facets;
+    }
+
+    private String where(BookBrowseRequestDto filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder(" WHERE b.is_deleted = false");
+        if (filter.getAuthors() != null && !filter.getAuthors().isEmpty()) {
+            where.append(" AND b.author IN (:authors)");
+            params.addValue("authors", filter.getAuthors());
+        }
+        if (filter.getMinPrice() != null) {
+            where.append(" AND b.price >= :minPrice");
+            params.addValue("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            where.append(" AND b.price < :maxPrice");
+            params.addValue("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getCategoryId() != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM books_categories fc "
+                    + "JOIN categories fcat ON fcat.id = fc.category_id "
+                    + "AND fcat.is_deleted = false "
+                    + "WHERE fc.book_id = b.id AND fc.category_id = :categoryId)");
+            params.addValue("categoryId", filter.getCategoryId());
+        }
+        return where.toString();
+    }
+
+    private List<FacetValueDto> priceFacets(long[] counts) {
+        List<FacetValueDto> facets = new ArrayList<>(counts.length);
+        BigDecimal lower = BigDecimal.ZERO;
+        for (int i = 0; i < PRICE_BUCKET_BOUNDS.size(); i++) {
+            BigDecimal upper = PRICE_BUCKET_BOUNDS.get(i);
+            facets.add(new FacetValueDto(lower + "-" + upper, counts[i]));
+            lower = upper;
+        }
+        facets.add(new FacetValueDto(lower + "+", counts[PRICE_BUCKET_BOUNDS.size()]));
+        return facets;
+    }
+
+    private static String priceBucketExpression() {
+        StringBuilder expression = new StringBuilder("CASE");
+        for (int i = 0; i < PRICE_BUCKET_BOUNDS.size(); i++) {
+            expression.append(" WHEN b.price < ").append(PRICE_BUCKET_BOUNDS.get(i))
+                    .append(" THEN ").append(i);
+        }
+        return expression.append(" ELSE ").append(PRICE_BUCKET_BOUNDS.size()).append(" END")
+                .toString();
+    }
+}
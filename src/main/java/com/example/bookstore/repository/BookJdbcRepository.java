@@ -0,0 +1,129 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.BookDto;
+import com.example.bookstore.dto.CreateBookRequestDto;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookJdbcRepository {
+    private static final String INSERT_BOOK = "INSERT INTO books "
+            + "(title, author, isbn, price, description, cover_image) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BOOK_CATEGORY =
+            "INSERT INTO books_categories (book_id, category_id) VALUES (?, ?)";
+    private static final String SELECT_ALL_BOOKS_WITH_CATEGORY_IDS = "SELECT b.id, b.title, "
+            + "b.author, b.isbn, b.price, b.description, b.cover_image, c.id AS category_id "
+            + "FROM books b LEFT JOIN (books_categories bc JOIN categories c "
+            + "ON c.id = bc.category_id AND c.is_deleted = false) ON bc.book_id = b.id "
+            + "WHERE b.is_deleted = false ORDER BY b.id";
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT isbn FROM books WHERE isbn IN (:isbns)",
+                Map.of("isbns", isbns), String.class));
+    }
+
+    public Map<String, Long> findIdsByIsbns(Collection<String> isbns) {
+        Map<String, Long> ids = new HashMap<>();
+        if (isbns.isEmpty()) {
+            return ids;
+        }
+        namedParameterJdbcTemplate.query("SELECT id, isbn FROM books WHERE isbn IN (:isbns)",
+                Map.of("isbns", isbns),
+                rs -> {
+                    ids.put(rs.getString("isbn"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public void insertBooks(List<CreateBookRequestDto> books) {
+        jdbcTemplate.batchUpdate(INSERT_BOOK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CreateBookRequestDto book = books.get(i);
+                ps.setString(1, book.getTitle());
+                ps.setString(2, book.getAuthor());
+                ps.setString(3, book.getIsbn());
+                ps.setBigDecimal(4, book.getPrice());
+                ps.setString(5, book.getDescription());
+                ps.setString(6, book.getCoverImage());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return books.size();
+            }
+        });
+    }
+
+    public void insertBookCategories(Map<Long, Set<Long>> categoryIdsByBookId) {
+        List<Object[]> rows = new ArrayList<>();
+        categoryIdsByBookId.forEach((bookId, categoryIds) -> categoryIds
+                .forEach(categoryId -> rows.add(new Object[]{bookId, categoryId})));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOK_CATEGORY, rows);
+        }
+    }
+
+    public void streamAll(Consumer<BookDto> consumer) {
+        BookDto[] current = new BookDto[1];
+        PreparedStatementCreator query = connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ALL_BOOKS_WITH_CATEGORY_IDS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        };
+        jdbcTemplate.query(query, rs -> {
+            long id = rs.getLong("id");
+            if (current[0] == null || current[0].getId() != id) {
+                if (current[0] != null) {
+                    consumer.accept(current[0]);
+                }
+                current[0] = toBookDto(rs);
+            }
+            long categoryId = rs.getLong("category_id");
+            if (!rs.wasNull()) {
+                current[0].getCategoryIds().add(categoryId);
+            }
+        });
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+        }
+    }
+
+    private BookDto toBookDto(ResultSet rs) throws SQLException {
+        BookDto book = new BookDto();
+        book.setId(rs.getLong("id"));
+        book.setTitle(rs.getString("title"));
+        book.setAuthor(rs.getString("author"));
+        book.setIsbn(rs.getString("isbn"));
+        book.setPrice(rs.getBigDecimal("price"));
+        book.setDescription(rs.getString("description"));
+        book.setCoverImage(rs.getString("cover_image"));
+        book.setCategoryIds(new TreeSet<>());
+        return book;
+    }
+}
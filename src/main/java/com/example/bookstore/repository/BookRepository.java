@@ -1,9 +1,49 @@
 package com.example.bookstore.repository;
 
 import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.projection.BookCategoryIdView;
+import com.example.bookstore.repository.projection.BookView;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
-    List<Book> findAllByCategories_Id(Long categoryId);
+    String SELECT_BOOK_VIEW = "SELECT b.id AS id, b.title AS title, b.author AS author, "
+            + "b.isbn AS isbn, b.price AS price, b.description AS description, "
+            + "b.coverImage AS coverImage FROM Book b";
+
+    @Query(SELECT_BOOK_VIEW)
+    List<BookView> findAllViews(Pageable pageable);
+
+    @Query(SELECT_BOOK_VIEW + " WHERE b.id > :id")
+    List<BookView> findAllViewsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_BOOK_VIEW + " WHERE b.id IN :ids")
+    List<BookView> findAllViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_BOOK_VIEW + " WHERE b.isbn IN :isbns")
+    List<BookView> findAllViewsByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_BOOK_VIEW + " JOIN b.categories c WHERE c.id = :categoryId")
+    List<BookView> findAllViewsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(value = "SELECT DISTINCT b.id AS id, b.title AS title, b.author AS author, "
+            + "b.isbn AS isbn, b.price AS price, b.description AS description, "
+            + "b.cover_image AS coverImage FROM category_closure cc "
+            + "JOIN categories c ON c.id = cc.descendant_id AND c.is_deleted = false "
+            + "JOIN books_categories bc ON bc.category_id = cc.descendant_id "
+            + "JOIN books b ON b.id = bc.book_id AND b.is_deleted = false "
+            + "WHERE cc.ancestor_id = :categoryId ORDER BY b.id", nativeQuery = true)
+    List<BookView> findAllViewsByCategorySubtree(@Param("categoryId") Long categoryId);
+
+    @Query(value = "SELECT bc.book_id AS bookId, bc.category_id AS categoryId "
+            + "FROM books_categories bc JOIN categories c ON c.id = bc.category_id "
+            + "WHERE c.is_deleted = false AND bc.book_id IN (:bookIds)", nativeQuery = true)
+    List<BookCategoryIdView> findCategoryIdsByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
 }
@@ -0,0 +1,124 @@
+package com.example.bookstore.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class CartItemJdbcRepository {
+    private static final String UPSERT_ITEM = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) "
+            + "SELECT * FROM (SELECT sc.id AS shopping_cart_id, b.id AS book_id, "
+            + "? AS added FROM shopping_carts sc "
+            + "JOIN books b ON b.id = ? AND b.is_deleted = false "
+            + "WHERE sc.user_id = ?) AS item "
+            + "ON DUPLICATE KEY UPDATE quantity = cart_items.quantity + item.added";
+    private static final String SELECT_CART = "SELECT sc.id AS cart_id, ci.id, ci.book_id, "
+            + "ci.quantity FROM shopping_carts sc "
+            + "LEFT JOIN cart_items ci ON ci.shopping_cart_id = sc.id WHERE sc.user_id = ?";
+    private static final String SAVE_QUANTITY = "INSERT INTO cart_items "
+            + "(shopping_cart_id, book_id, quantity) VALUES (?, ?, ?) AS item "
+            + "ON DUPLICATE KEY UPDATE quantity = item.quantity";
+    private static final String SELECT_CHECKOUT_ITEMS = "SELECT sc.id AS cart_id, ci.book_id, "
+            + "ci.quantity, b.price, b.title FROM shopping_carts sc "
+            + "LEFT JOIN (cart_items ci JOIN books b "
+            + "ON b.id = ci.book_id AND b.is_deleted = false) "
+            + "ON ci.shopping_cart_id = sc.id WHERE sc.user_id = ? ORDER BY ci.id "
+            + "FOR UPDATE OF sc, ci";
+    private static final String DELETE_ITEM =
+            "DELETE FROM cart_items WHERE shopping_cart_id = ? AND book_id = ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public boolean addQuantity(Long userId, Long bookId, int quantity) {
+        return jdbcTemplate.update(UPSERT_ITEM, quantity, bookId, userId) > 0;
+    }
+
+    public Long findCart(Long userId, CartItemConsumer consumer) {
+        return queryCart(SELECT_CART, userId, consumer);
+    }
+
+    public Long lockCart(Long userId, CartItemConsumer consumer) {
+        return queryCart(SELECT_CART + " FOR UPDATE", userId, consumer);
+    }
+
+    public Map<Long, Long> findBookIdsByItemIds(Long cartId, Collection<Long> itemIds) {
+        Map<Long, Long> bookIds = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return bookIds;
+        }
+        namedParameterJdbcTemplate.query("SELECT id, book_id FROM cart_items "
+                        + "WHERE shopping_cart_id = :cartId AND id IN (:itemIds)",
+                Map.of("cartId", cartId, "itemIds", itemIds),
+                rs -> {
+                    bookIds.put(rs.getLong("id"), rs.getLong("book_id"));
+                });
+        return bookIds;
+    }
+
+    public Long lockCheckoutItems(Long userId, CheckoutItemConsumer consumer) {
+        Long[] cartId = {null};
+        jdbcTemplate.query(SELECT_CHECKOUT_ITEMS, rs -> {
+            cartId[0] = rs.getLong("cart_id");
+            long bookId = rs.getLong("book_id");
+            if (!rs.wasNull()) {
+                consumer.accept(bookId, rs.getInt("quantity"), rs.getBigDecimal("price"),
+                        rs.getString("title"));
+            }
+        }, userId);
+        return cartId[0];
+    }
+
+    public void deleteAllByCartId(Long cartId) {
+        jdbcTemplate.update("DELETE FROM cart_items WHERE shopping_cart_id = ?", cartId);
+    }
+
+    @Transactional
+    public void saveCarts(Map<Long, Map<Long, Integer>> quantitiesByCartId,
+                          Map<Long, Set<Long>> removedBookIdsByCartId) {
+        List<Object[]> removed = new ArrayList<>();
+        removedBookIdsByCartId.forEach((cartId, bookIds) ->
+                bookIds.forEach(bookId -> removed.add(new Object[]{cartId, bookId})));
+        List<Object[]> quantities = new ArrayList<>();
+        quantitiesByCartId.forEach((cartId, items) -> items.forEach((bookId, quantity) ->
+                quantities.add(new Object[]{cartId, bookId, quantity})));
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ITEM, removed);
+        }
+        if (!quantities.isEmpty()) {
+            jdbcTemplate.batchUpdate(SAVE_QUANTITY, quantities);
+        }
+    }
+
+    private Long queryCart(String sql, Long userId, CartItemConsumer consumer) {
+        Long[] cartId = {null};
+        jdbcTemplate.query(sql, rs -> {
+            cartId[0] = rs.getLong("cart_id");
+            long itemId = rs.getLong("id");
+            if (!rs.wasNull()) {
+                consumer.accept(itemId, rs.getLong("book_id"), rs.getInt("quantity"));
+            }
+        }, userId);
+        return cartId[0];
+    }
+
+    @FunctionalInterface
+    public interface CartItemConsumer {
+        void accept(long itemId, long bookId, int quantity);
+    }
+
+    @FunctionalInterface
+    public interface CheckoutItemConsumer {
+        void accept(long bookId, int quantity, BigDecimal price, String title);
+    }
+}
@@ -5,5 +5,5 @@ import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
-    Optional<CartItem> findByBookId(Long bookId);
+    Optional<CartItem> findByIdAndShoppingCart_Id(Long id, Long shoppingCartId);
 }
@@ -0,0 +1,56 @@
+package com.example.bookstore.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryClosureRepository {
+    private static final String INSERT_SELF = "INSERT INTO category_closure "
+            + "(ancestor_id, descendant_id, depth) VALUES (?, ?, 0)";
+    private static final String ATTACH_SUBTREE = "INSERT INTO category_closure "
+            + "(ancestor_id, descendant_id, depth) "
+            + "SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1 "
+            + "FROM category_closure above "
+            + "JOIN category_closure below ON below.ancestor_id = ? "
+            + "WHERE above.descendant_id = ?";
+    private static final String DETACH_SUBTREE = "DELETE link FROM category_closure link "
+            + "JOIN category_closure subtree ON subtree.descendant_id = link.descendant_id "
+            + "AND subtree.ancestor_id = ? "
+            + "LEFT JOIN category_closure inside ON inside.ancestor_id = ? "
+            + "AND inside.descendant_id = link.ancestor_id "
+            + "WHERE inside.ancestor_id IS NULL";
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(Long categoryId, Long parentId) {
+        jdbcTemplate.update(INSERT_SELF, categoryId, categoryId);
+        if (parentId != null) {
+            jdbcTemplate.update(ATTACH_SUBTREE, categoryId, parentId);
+        }
+    }
+
+    /**
+     * Locks a category together with a prospective parent and all of its ancestors, so
+     * concurrent moves that could close a cycle between them run one after the other.
+     */
+    public void lockWithAncestors(Long categoryId, Long parentId) {
+        jdbcTemplate.queryForList("SELECT c.id FROM categories c WHERE c.id = ? "
+                + "OR c.id IN (SELECT ancestor_id FROM category_closure WHERE descendant_id = ?) "
+                + "ORDER BY c.id FOR UPDATE", Long.class, categoryId, parentId);
+    }
+
+    public void move(Long categoryId, Long parentId) {
+        jdbcTemplate.update(DETACH_SUBTREE, categoryId, categoryId);
+        if (parentId != null) {
+            jdbcTemplate.update(ATTACH_SUBTREE, categoryId, parentId);
+        }
+    }
+
+    public boolean isInSubtree(Long categoryId, Long ancestorId) {
+        Integer links = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM category_closure "
+                + "WHERE ancestor_id = ? AND descendant_id = ?", Integer.class,
+                ancestorId, categoryId);
+        return links != null && links > 0;
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.bookstore.repository;
 
 import com.example.bookstore.model.Category;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @Query("SELECT c.id FROM Category c")
+    Set<Long> findAllIds();
+
+    boolean existsByParentId(Long parentId);
 }
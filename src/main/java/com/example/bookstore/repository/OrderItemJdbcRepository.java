@@ -0,0 +1,116 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.model.OrderItem;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderItemJdbcRepository {
+    private static final String SELECT_BOOK_IDS_BY_ORDER = "SELECT order_id, book_id "
+            + "FROM order_items WHERE order_id > ? AND order_id <= ? ORDER BY order_id";
+    private static final String SELECT_SALES_SINCE = "SELECT oi.book_id, oi.quantity, "
+            + "o.order_date FROM orders o JOIN order_items oi ON oi.order_id = o.id "
+            + "WHERE o.is_deleted = false AND o.order_date >= ? AND o.id <= ?";
+    private static final String INSERT_ORDER_ITEMS =
+            "INSERT INTO order_items (order_id, book_id, quantity, price) VALUES ";
+    private final JdbcTemplate jdbcTemplate;
+
+    public long findMaxOrderId() {
+        Long maxOrderId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(order_id), 0) FROM order_items", Long.class);
+        return maxOrderId == null ? 0 : maxOrderId;
+    }
+
+    public void insertAll(Long orderId, List<OrderItem> orderItems) {
+        if (orderItems.isEmpty()) {
+            return;
+        }
+        String sql = INSERT_ORDER_ITEMS
+                + String.join(", ", Collections.nCopies(orderItems.size(), "(?, ?, ?, ?)"));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    Statement.RETURN_GENERATED_KEYS);
+            int index = 1;
+            for (OrderItem orderItem : orderItems) {
+                statement.setLong(index++, orderId);
+                statement.setLong(index++, orderItem.getBook().getId());
+                statement.setInt(index++, orderItem.getQuantity());
+                statement.setBigDecimal(index++, orderItem.getPrice());
+            }
+            return statement;
+        }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < orderItems.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            orderItems.get(i).setId(id.longValue());
+        }
+    }
+
+    public void streamBookIdsByOrder(long afterOrderId, long toOrderId,
+                                     Consumer<long[]> consumer) {
+        long[] currentOrderId = {0};
+        long[][] bookIds = {new long[8]};
+        int[] size = {0};
+        PreparedStatementCreator query = connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_BOOK_IDS_BY_ORDER,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setLong(1, afterOrderId);
+            statement.setLong(2, toOrderId);
+            return statement;
+        };
+        jdbcTemplate.query(query, rs -> {
+            long orderId = rs.getLong("order_id");
+            if (orderId != currentOrderId[0]) {
+                if (size[0] > 0) {
+                    consumer.accept(Arrays.copyOf(bookIds[0], size[0]));
+                }
+                currentOrderId[0] = orderId;
+                size[0] = 0;
+            }
+            if (size[0] == bookIds[0].length) {
+                bookIds[0] = Arrays.copyOf(bookIds[0], size[0] * 2);
+            }
+            bookIds[0][size[0]++] = rs.getLong("book_id");
+        });
+        if (size[0] > 0) {
+            consumer.accept(Arrays.copyOf(bookIds[0], size[0]));
+        }
+    }
+
+    public void streamSalesSince(LocalDateTime since, long toOrderId, SaleConsumer consumer) {
+        PreparedStatementCreator query = connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SALES_SINCE,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setTimestamp(1, Timestamp.valueOf(since));
+            statement.setLong(2, toOrderId);
+            return statement;
+        };
+        jdbcTemplate.query(query, rs -> {
+            consumer.accept(rs.getLong("book_id"), rs.getInt("quantity"),
+                    rs.getTimestamp("order_date").toLocalDateTime());
+        });
+    }
+
+    @FunctionalInterface
+    public interface SaleConsumer {
+        void accept(long bookId, int quantity, LocalDateTime orderDate);
+    }
+}
@@ -1,7 +1,35 @@
 package com.example.bookstore.repository;
 
 import com.example.bookstore.model.OrderItem;
+import com.example.bookstore.repository.projection.BookSalesView;
+import com.example.bookstore.repository.projection.OrderItemView;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    String SELECT_ORDER_ITEM_VIEW = "SELECT oi.id AS id, oi.order.id AS orderId, "
+            + "oi.book.id AS bookId, oi.quantity AS quantity FROM OrderItem oi";
+
+    @Query("SELECT oi.book.id AS bookId, SUM(oi.quantity) AS quantity FROM OrderItem oi "
+            + "GROUP BY oi.book.id")
+    List<BookSalesView> findSalesPerBook();
+
+    @Query(SELECT_ORDER_ITEM_VIEW + " WHERE oi.order.id IN :orderIds")
+    List<OrderItemView> findAllViewsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT oi.id AS id, o.id AS orderId, oi.book.id AS bookId, "
+            + "oi.quantity AS quantity FROM Order o LEFT JOIN o.orderItems oi "
+            + "WHERE o.id = :orderId AND o.user.id = :userId")
+    List<OrderItemView> findAllViewsByOrderIdAndUserId(@Param("orderId") Long orderId,
+                                                       @Param("userId") Long userId);
+
+    @Query(SELECT_ORDER_ITEM_VIEW + " WHERE oi.id = :id AND oi.order.id = :orderId "
+            + "AND oi.order.user.id = :userId")
+    Optional<OrderItemView> findViewByIdAndOrderIdAndUserId(@Param("id") Long id,
+                                                            @Param("orderId") Long orderId,
+                                                            @Param("userId") Long userId);
 }
@@ -0,0 +1,66 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.model.Order;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderJdbcRepository {
+    private static final String SELECT_IDS_BY_ORDER_DATE = "SELECT id FROM orders "
+            + "WHERE is_deleted = false "
+            + "AND order_date >= :orderDateFrom AND order_date < :orderDateTo AND id > :afterId "
+            + "ORDER BY id LIMIT :limit";
+    private static final String UPDATE_STATUSES = "UPDATE orders SET status = :status "
+            + "WHERE is_deleted = false AND id IN (:ids) AND status IN (:currentStatuses)";
+    private static final String UPDATE_SUMMARY_STATUSES = "UPDATE order_summaries summary "
+            + "JOIN orders o ON o.id = summary.order_id SET summary.status = o.status "
+            + "WHERE summary.order_id IN (:ids)";
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public List<Long> findIdsByOrderDate(LocalDateTime orderDateFrom, LocalDateTime orderDateTo,
+                                         long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orderDateFrom", Timestamp.valueOf(orderDateFrom))
+                .addValue("orderDateTo", Timestamp.valueOf(orderDateTo))
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return namedParameterJdbcTemplate.queryForList(SELECT_IDS_BY_ORDER_DATE, params,
+                Long.class);
+    }
+
+    public long countExisting(Collection<Long> ids) {
+        Long count = namedParameterJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE is_deleted = false AND id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Transactional
+    public int updateStatuses(Collection<Long> ids, Collection<Order.Status> currentStatuses,
+                              Order.Status status) {
+        int updated = namedParameterJdbcTemplate.update(UPDATE_STATUSES,
+                new MapSqlParameterSource()
+                        .addValue("status", status.ordinal())
+                        .addValue("ids", ids)
+                        .addValue("currentStatuses", ordinals(currentStatuses)));
+        if (updated > 0) {
+            namedParameterJdbcTemplate.update(UPDATE_SUMMARY_STATUSES,
+                    new MapSqlParameterSource("ids", ids));
+        }
+        return updated;
+    }
+
+    private static List<Integer> ordinals(Collection<Order.Status> statuses) {
+        return statuses.stream()
+                .map(Order.Status::ordinal)
+                .toList();
+    }
+}
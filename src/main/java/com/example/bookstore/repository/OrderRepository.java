@@ -1,9 +1,24 @@
 package com.example.bookstore.repository;
 
 import com.example.bookstore.model.Order;
+import com.example.bookstore.repository.projection.OrderView;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
+    @Query("SELECT o.id AS id, o.user.id AS userId, o.orderDate AS orderDate, "
+            + "o.total AS total, o.status AS status FROM Order o WHERE o.user.id = :userId "
+            + "ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderView> findAllViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.requestId = :requestId")
+    Optional<Long> findIdByRequestId(@Param("requestId") String requestId);
+
+    @Query("SELECT o.id FROM Order o WHERE o.requestId = :requestId AND o.user.id = :userId")
+    Optional<Long> findIdByRequestIdAndUserId(@Param("requestId") String requestId,
+                                              @Param("userId") Long userId);
 }
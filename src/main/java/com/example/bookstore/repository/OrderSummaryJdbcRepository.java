@@ -0,0 +1,90 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.OrderSummaryDto;
+import com.example.bookstore.model.Order;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryJdbcRepository {
+    private static final String SELECT_SUMMARY = "SELECT order_id, user_id, order_date, "
+            + "status, total, item_count, first_book_title FROM order_summaries";
+    private static final String INSERT_SUMMARY = "INSERT INTO order_summaries "
+            + "(order_id, user_id, order_date, status, total, item_count, first_book_title) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT_SUMMARIES = "INSERT INTO order_summaries "
+            + "(order_id, user_id, order_date, status, total, item_count, first_book_title) "
+            + "SELECT * FROM (SELECT o.id AS order_id, o.user_id, o.order_date, o.status, "
+            + "o.total, COALESCE(SUM(oi.quantity), 0) AS item_count, "
+            + "(SELECT b.title FROM order_items first_item "
+            + "JOIN books b ON b.id = first_item.book_id "
+            + "WHERE first_item.order_id = o.id ORDER BY first_item.id LIMIT 1) "
+            + "AS first_book_title "
+            + "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id "
+            + "WHERE o.is_deleted = false AND o.id > ? AND o.id <= ? GROUP BY o.id) AS summary "
+            + "ON DUPLICATE KEY UPDATE status = summary.status, total = summary.total, "
+            + "item_count = summary.item_count, first_book_title = summary.first_book_title";
+    private static final String DELETE_STALE_SUMMARIES = "DELETE summary "
+            + "FROM order_summaries summary LEFT JOIN orders o "
+            + "ON o.id = summary.order_id AND o.is_deleted = false "
+            + "WHERE summary.order_id > ? AND summary.order_id <= ? AND o.id IS NULL";
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(OrderSummaryDto summary) {
+        jdbcTemplate.update(INSERT_SUMMARY, summary.getOrderId(), summary.getUserId(),
+                Timestamp.valueOf(summary.getOrderDate()), summary.getStatus().ordinal(),
+                summary.getTotal(), summary.getItemCount(), summary.getFirstBookTitle());
+    }
+
+    public boolean updateStatus(Long orderId, Order.Status status) {
+        return jdbcTemplate.update("UPDATE order_summaries SET status = ? WHERE order_id = ?",
+                status.ordinal(), orderId) > 0;
+    }
+
+    public List<OrderSummaryDto> findAllByUserId(Long userId, int limit, long offset) {
+        return jdbcTemplate.query(SELECT_SUMMARY + " WHERE user_id = ? "
+                + "ORDER BY order_date DESC, order_id DESC LIMIT ? OFFSET ?",
+                this::toSummary, userId, limit, offset);
+    }
+
+    public List<OrderSummaryDto> findAll(int limit, long offset) {
+        return jdbcTemplate.query(SELECT_SUMMARY
+                + " ORDER BY order_date DESC, order_id DESC LIMIT ? OFFSET ?",
+                this::toSummary, limit, offset);
+    }
+
+    public long findMaxOrderId() {
+        Long maxOrderId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) FROM orders", Long.class);
+        return maxOrderId == null ? 0 : maxOrderId;
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_summaries", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public void rebuild(long afterOrderId, long toOrderId) {
+        jdbcTemplate.update(UPSERT_SUMMARIES, afterOrderId, toOrderId);
+        jdbcTemplate.update(DELETE_STALE_SUMMARIES, afterOrderId, toOrderId);
+    }
+
+    private OrderSummaryDto toSummary(ResultSet rs, int rowNum) throws SQLException {
+        OrderSummaryDto summary = new OrderSummaryDto();
+        summary.setOrderId(rs.getLong("order_id"));
+        summary.setUserId(rs.getLong("user_id"));
+        summary.setOrderDate(rs.getTimestamp("order_date").toLocalDateTime());
+        summary.setStatus(Order.Status.values()[rs.getInt("status")]);
+        summary.setTotal(rs.getBigDecimal("total"));
+        summary.setItemCount(rs.getInt("item_count"));
+        summary.setFirstBookTitle(rs.getString("first_book_title"));
+        return summary;
+    }
+}
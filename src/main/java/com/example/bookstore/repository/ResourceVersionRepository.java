@@ -0,0 +1,74 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.ResourceVersionDto;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ResourceVersionRepository {
+    private static final String BOOKS_UPDATED_AT = "(SELECT MAX(updated_at) FROM books)";
+    private static final String CATEGORIES_UPDATED_AT =
+            "(SELECT MAX(updated_at) FROM categories)";
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<ResourceVersionDto> findBookVersion(Long id) {
+        return jdbcTemplate.query("SELECT b.version, b.updated_at, "
+                + CATEGORIES_UPDATED_AT + " AS categories_updated_at FROM books b "
+                + "WHERE b.id = ? AND b.is_deleted = false", (rs, rowNum) -> {
+                    LocalDateTime categoriesUpdatedAt = getUpdatedAt(rs, "categories_updated_at");
+                    return toVersion(rs.getLong("version") + "-" + micros(categoriesUpdatedAt),
+                            latest(getUpdatedAt(rs, "updated_at"), categoriesUpdatedAt));
+                }, id).stream().findFirst();
+    }
+
+    public Optional<ResourceVersionDto> findCategoryVersion(Long id) {
+        return jdbcTemplate.query("SELECT c.version, c.updated_at FROM categories c "
+                + "WHERE c.id = ? AND c.is_deleted = false",
+                (rs, rowNum) -> toVersion(String.valueOf(rs.getLong("version")),
+                        getUpdatedAt(rs, "updated_at")), id).stream().findFirst();
+    }
+
+    public ResourceVersionDto findBooksVersion() {
+        return jdbcTemplate.queryForObject("SELECT " + BOOKS_UPDATED_AT + " AS books_updated_at, "
+                + CATEGORIES_UPDATED_AT + " AS categories_updated_at", (rs, rowNum) -> {
+                    LocalDateTime updatedAt = latest(getUpdatedAt(rs, "books_updated_at"),
+                            getUpdatedAt(rs, "categories_updated_at"));
+                    return toVersion(String.valueOf(micros(updatedAt)), updatedAt);
+                });
+    }
+
+    public ResourceVersionDto findCategoriesVersion() {
+        return jdbcTemplate.queryForObject("SELECT " + CATEGORIES_UPDATED_AT
+                + " AS categories_updated_at", (rs, rowNum) -> {
+                    LocalDateTime updatedAt = getUpdatedAt(rs, "categories_updated_at");
+                    return toVersion(String.valueOf(micros(updatedAt)), updatedAt);
+                });
+    }
+
+    private LocalDateTime getUpdatedAt(ResultSet rs, String column) throws SQLException {
+        LocalDateTime updatedAt = rs.getObject(column, LocalDateTime.class);
+        return updatedAt == null ? NEVER : updatedAt;
+    }
+
+    private LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private long micros(LocalDateTime updatedAt) {
+        return ChronoUnit.MICROS.between(NEVER, updatedAt);
+    }
+
+    private ResourceVersionDto toVersion(String etag, LocalDateTime updatedAt) {
+        return new ResourceVersionDto(etag,
+                updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.bookstore.repository;
 
 import com.example.bookstore.model.ShoppingCart;
+import com.example.bookstore.repository.projection.CartItemView;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     Optional<ShoppingCart> findByUser_Id(Long id);
+
+    @Query("SELECT sc.id AS cartId, ci.id AS id, ci.book.id AS bookId, b.title AS bookTitle, "
+            + "ci.quantity AS quantity FROM ShoppingCart sc LEFT JOIN sc.cartItems ci "
+            + "LEFT JOIN ci.book b WHERE sc.user.id = :userId")
+    List<CartItemView> findAllItemViewsByUserId(@Param("userId") Long userId);
 }
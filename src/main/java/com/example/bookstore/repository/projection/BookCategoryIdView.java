@@ -0,0 +1,7 @@
+package com.example.bookstore.repository.projection;
+
+public interface BookCategoryIdView {
+    Long getBookId();
+
+    Long getCategoryId();
+}
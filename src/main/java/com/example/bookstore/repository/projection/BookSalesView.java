@@ -0,0 +1,7 @@
+package com.example.bookstore.repository.projection;
+
+public interface BookSalesView {
+    Long getBookId();
+
+    Long getQuantity();
+}
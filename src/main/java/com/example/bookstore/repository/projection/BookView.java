@@ -0,0 +1,19 @@
+package com.example.bookstore.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface BookView {
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+
+    String getIsbn();
+
+    BigDecimal getPrice();
+
+    String getDescription();
+
+    String getCoverImage();
+}
@@ -0,0 +1,13 @@
+package com.example.bookstore.repository.projection;
+
+public interface CartItemView {
+    Long getCartId();
+
+    Long getId();
+
+    Long getBookId();
+
+    String getBookTitle();
+
+    Integer getQuantity();
+}
@@ -0,0 +1,11 @@
+package com.example.bookstore.repository.projection;
+
+public interface OrderItemView {
+    Long getId();
+
+    Long getOrderId();
+
+    Long getBookId();
+
+    Integer getQuantity();
+}
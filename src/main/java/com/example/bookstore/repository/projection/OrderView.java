@@ -0,0 +1,17 @@
+package com.example.bookstore.repository.projection;
+
+import com.example.bookstore.model.Order;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface OrderView {
+    Long getId();
+
+    Long getUserId();
+
+    LocalDateTime getOrderDate();
+
+    BigDecimal getTotal();
+
+    Order.Status getStatus();
+}
@@ -0,0 +1,257 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.OrderCreatedEvent;
+import com.example.bookstore.repository.OrderItemJdbcRepository;
+import com.example.bookstore.util.LongIntHashMap;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.PeekableIntIterator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Units sold per book in hourly buckets over the last 30 days, with running totals and
+ * top lists per period, overall and per category. Totals only grow within an hour, so an
+ * order just promotes its books; the hourly roll-over subtracts the expired hour and
+ * rebuilds the lists, which is also when recategorized books move between categories.
+ * An order that arrives first in a new hour only shifts the buckets and marks the lists
+ * stale; they are rebuilt by the scheduler or by the next read, never on the thread
+ * committing the order.
+ */
+@Component
+@RequiredArgsConstructor
+public class BestsellerIndex {
+    public static final int MAX_BESTSELLERS = 50;
+    private static final long ALL_CATEGORIES = 0L;
+    private static final int HOURS = BestsellerPeriod.MONTH.getHours();
+    private static final long SECONDS_PER_HOUR = 3600;
+    private final OrderItemJdbcRepository orderItemJdbcRepository;
+    private final CategoryBitmapIndex categoryBitmapIndex;
+    private final List<OrderCreatedEvent> pendingOrders = new ArrayList<>();
+    private final Object lock = new Object();
+    private final LongIntHashMap[] buckets = newBuckets();
+    private final Map<BestsellerPeriod, LongIntHashMap> totals = newTotals();
+    private volatile Map<BestsellerPeriod, Map<Long, long[]>> topSellers = newTopSellers();
+    private long currentHour = clockHour();
+    private volatile boolean stale;
+    private boolean rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (lock) {
+            rebuilding = true;
+        }
+        try {
+            long hour = clockHour();
+            long maxOrderId = orderItemJdbcRepository.findMaxOrderId();
+            LongIntHashMap[] sales = newBuckets();
+            orderItemJdbcRepository.streamSalesSince(toDateTime(hour - HOURS + 1), maxOrderId,
+                    (bookId, quantity, orderDate) ->
+                            addToBucket(sales, hour, bookId, quantity, toHour(orderDate)));
+            synchronized (lock) {
+                for (OrderCreatedEvent order : pendingOrders) {
+                    if (order.getOrderId() > maxOrderId) {
+                        long orderHour = toHour(order.getOrderDate());
+                        order.getQuantitiesByBookId().forEach((bookId, quantity) ->
+                                addToBucket(sales, hour, bookId, quantity, orderHour));
+                    }
+                }
+                System.arraycopy(sales, 0, buckets, 0, HOURS);
+                currentHour = hour;
+                for (BestsellerPeriod period : BestsellerPeriod.values()) {
+                    LongIntHashMap periodTotals = new LongIntHashMap();
+                    for (long bucketHour = hour - period.getHours() + 1; bucketHour <= hour;
+                            bucketHour++) {
+                        bucket(buckets, bucketHour).forEach(periodTotals::addTo);
+                    }
+                    totals.put(period, periodTotals);
+                }
+                recompute();
+            }
+        } finally {
+            synchronized (lock) {
+                rebuilding = false;
+                pendingOrders.clear();
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 0 * * * *")
+    public void rollOver() {
+        synchronized (lock) {
+            advance(clockHour());
+            recompute();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        synchronized (lock) {
+            advance(clockHour());
+            long orderHour = Math.min(toHour(event.getOrderDate()), currentHour);
+            Map<BestsellerPeriod, Map<Long, long[]>> current = topSellers;
+            event.getQuantitiesByBookId().forEach((bookId, quantity) -> {
+                if (!addToBucket(buckets, currentHour, bookId, quantity, orderHour)) {
+                    return;
+                }
+                List<Long> categoryIds = categoryBitmapIndex.findCategoryIds(bookId);
+                for (BestsellerPeriod period : BestsellerPeriod.values()) {
+                    if (orderHour > currentHour - period.getHours()) {
+                        int sold = totals.get(period).addTo(bookId, quantity);
+                        if (stale) {
+                            continue;
+                        }
+                        Map<Long, long[]> periodTopSellers = current.get(period);
+                        promote(periodTopSellers, ALL_CATEGORIES, bookId, sold);
+                        categoryIds.forEach(categoryId ->
+                                promote(periodTopSellers, categoryId, bookId, sold));
+                    }
+                }
+            });
+            if (rebuilding) {
+                pendingOrders.add(event);
+            }
+        }
+    }
+
+    public Map<Long, Integer> findBestsellers(BestsellerPeriod period, Long categoryId,
+                                              int limit) {
+        if (stale) {
+            synchronized (lock) {
+                if (stale) {
+                    recompute();
+                }
+            }
+        }
+        long[] top = topSellers.get(period).getOrDefault(
+                categoryId == null ? ALL_CATEGORIES : categoryId, TopList.EMPTY);
+        Map<Long, Integer> sold = new LinkedHashMap<>();
+        for (int i = 0; i < top.length && sold.size() < limit; i++) {
+            sold.put(TopList.idOf(top[i]), TopList.countOf(top[i]));
+        }
+        return sold;
+    }
+
+    private void advance(long hour) {
+        if (hour <= currentHour) {
+            return;
+        }
+        if (hour - currentHour >= HOURS) {
+            for (int i = 0; i < HOURS; i++) {
+                buckets[i] = new LongIntHashMap();
+            }
+            totals.putAll(newTotals());
+        } else {
+            for (long next = currentHour + 1; next <= hour; next++) {
+                for (BestsellerPeriod period : BestsellerPeriod.values()) {
+                    LongIntHashMap periodTotals = totals.get(period);
+                    bucket(buckets, next - period.getHours()).forEach((bookId, quantity) ->
+                            periodTotals.addTo(bookId, -quantity));
+                }
+                buckets[Math.floorMod(next, HOURS)] = new LongIntHashMap();
+            }
+        }
+        currentHour = hour;
+        stale = true;
+    }
+
+    private boolean addToBucket(LongIntHashMap[] sales, long hour, long bookId, int quantity,
+                                long orderHour) {
+        if (orderHour <= hour - HOURS) {
+            return false;
+        }
+        bucket(sales, Math.min(orderHour, hour)).addTo(bookId, quantity);
+        return true;
+    }
+
+    private void recompute() {
+        topSellers = computeTopSellers();
+        stale = false;
+    }
+
+    private Map<BestsellerPeriod, Map<Long, long[]>> computeTopSellers() {
+        Map<BestsellerPeriod, Map<Long, long[]>> result = newTopSellers();
+        for (BestsellerPeriod period : BestsellerPeriod.values()) {
+            LongIntHashMap periodTotals = totals.get(period);
+            Map<Long, long[]> periodTopSellers = result.get(period);
+            periodTopSellers.put(ALL_CATEGORIES, TopList.of(periodTotals, MAX_BESTSELLERS));
+            categoryBitmapIndex.forEachCategory((categoryId, books) -> {
+                long[] entries = new long[books.getCardinality()];
+                int size = 0;
+                PeekableIntIterator iterator = books.getIntIterator();
+                while (iterator.hasNext()) {
+                    int bookId = iterator.next();
+                    int sold = periodTotals.get(bookId);
+                    if (sold > 0) {
+                        entries[size++] = TopList.entry(bookId, sold);
+                    }
+                }
+                if (size > 0) {
+                    periodTopSellers.put(categoryId,
+                            TopList.top(entries, size, MAX_BESTSELLERS));
+                }
+            });
+        }
+        return result;
+    }
+
+    private void promote(Map<Long, long[]> periodTopSellers, Long categoryId, long bookId,
+                         int sold) {
+        periodTopSellers.put(categoryId, TopList.promote(
+                periodTopSellers.getOrDefault(categoryId, TopList.EMPTY), bookId, sold,
+                MAX_BESTSELLERS));
+    }
+
+    private static LongIntHashMap bucket(LongIntHashMap[] sales, long hour) {
+        return sales[Math.floorMod(hour, HOURS)];
+    }
+
+    private static LongIntHashMap[] newBuckets() {
+        LongIntHashMap[] sales = new LongIntHashMap[HOURS];
+        for (int i = 0; i < HOURS; i++) {
+            sales[i] = new LongIntHashMap();
+        }
+        return sales;
+    }
+
+    private static Map<BestsellerPeriod, LongIntHashMap> newTotals() {
+        Map<BestsellerPeriod, LongIntHashMap> periodTotals = new EnumMap<>(BestsellerPeriod.class);
+        for (BestsellerPeriod period : BestsellerPeriod.values()) {
+            periodTotals.put(period, new LongIntHashMap());
+        }
+        return periodTotals;
+    }
+
+    private static Map<BestsellerPeriod, Map<Long, long[]>> newTopSellers() {
+        Map<BestsellerPeriod, Map<Long, long[]>> result = new EnumMap<>(BestsellerPeriod.class);
+        for (BestsellerPeriod period : BestsellerPeriod.values()) {
+            result.put(period, new ConcurrentHashMap<>());
+        }
+        return result;
+    }
+
+    private static long clockHour() {
+        return Math.floorDiv(System.currentTimeMillis(), SECONDS_PER_HOUR * 1000);
+    }
+
+    private static long toHour(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.atZone(ZoneId.systemDefault()).toEpochSecond(),
+                SECONDS_PER_HOUR);
+    }
+
+    private static LocalDateTime toDateTime(long hour) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(hour * SECONDS_PER_HOUR),
+                ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.bookstore.search;
+
+public enum BestsellerPeriod {
+    DAY(24),
+    WEEK(7 * 24),
+    MONTH(30 * 24);
+
+    private final int hours;
+
+    BestsellerPeriod(int hours) {
+        this.hours = hours;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookDeletedEvent;
+import com.example.bookstore.event.BookSavedEvent;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.projection.BookView;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory inverted index over book title, author, isbn and description ranked with BM25.
+ * Readers only touch concurrent maps and never wait for writers, which are serialized
+ * between themselves. A rebuild fills a fresh index while the current one keeps serving,
+ * replays the writes made meanwhile and then swaps the fresh index in.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int ISBN_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Pattern ISBN_SEPARATORS = Pattern.compile("[\\s-]");
+    private final BookRepository bookRepository;
+    private final List<Consumer<Index>> pendingWrites = new ArrayList<>();
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index();
+    private boolean rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (writeLock) {
+            rebuilding = true;
+        }
+        try {
+            Index rebuilt = new Index();
+            long lastId = 0;
+            List<BookView> books;
+            do {
+                books = bookRepository.findAllViewsByIdGreaterThan(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+                for (BookView book : books) {
+                    rebuilt.add(book.getId(), frequencies(book.getTitle(), book.getAuthor(),
+                            book.getIsbn(), book.getDescription()));
+                    lastId = book.getId();
+                }
+            } while (books.size() == REBUILD_BATCH_SIZE);
+            synchronized (writeLock) {
+                pendingWrites.forEach(write -> write.accept(rebuilt));
+                index = rebuilt;
+            }
+        } finally {
+            synchronized (writeLock) {
+                rebuilding = false;
+                pendingWrites.clear();
+            }
+        }
+    }
+
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        index(event.getBook().getId(), event.getBook().getTitle(), event.getBook().getAuthor(),
+                event.getBook().getIsbn(), event.getBook().getDescription());
+    }
+
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        remove(event.getBookId());
+    }
+
+    public void index(Long id, String title, String author, String isbn, String description) {
+        Map<String, Integer> frequencies = frequencies(title, author, isbn, description);
+        write(target -> target.add(id, frequencies));
+    }
+
+    public void remove(Long id) {
+        write(target -> target.remove(id));
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        Index current = index;
+        int documentCount = current.documents.size();
+        if (tokens.isEmpty() || documentCount == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        double averageLength = Math.max(1.0,
+                (double) current.totalLength.get() / documentCount);
+        Map<Long, Double> scores = new HashMap<>();
+        for (String token : tokens) {
+            Map<Long, Double> tokenScores = new HashMap<>();
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, Integer>> entry : current.postings
+                    .subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                double factor = entry.getKey().equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+                scoreTerm(current, entry.getValue(), averageLength, factor, tokenScores);
+            }
+            tokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+        }
+        return topIds(scores, limit);
+    }
+
+    private void write(Consumer<Index> write) {
+        synchronized (writeLock) {
+            write.accept(index);
+            if (rebuilding) {
+                pendingWrites.add(write);
+            }
+        }
+    }
+
+    private void scoreTerm(Index current, Map<Long, Integer> termPostings,
+                           double averageLength, double factor, Map<Long, Double> scores) {
+        int documentCount = current.documents.size();
+        int documentFrequency = termPostings.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5)
+                / (documentFrequency + 0.5));
+        termPostings.forEach((id, frequency) -> {
+            Document document = current.documents.get(id);
+            if (document == null) {
+                return;
+            }
+            double norm = K1 * (1 - B + B * document.length / averageLength);
+            double score = factor * idf * frequency * (K1 + 1) / (frequency + norm);
+            scores.merge(id, score, Math::max);
+        });
+    }
+
+    private List<Long> topIds(Map<Long, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(
+                Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private Map<String, Integer> frequencies(String title, String author, String isbn,
+                                             String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, title, TITLE_WEIGHT);
+        addTerms(frequencies, author, AUTHOR_WEIGHT);
+        addTerms(frequencies, isbn, ISBN_WEIGHT);
+        String compactIsbn = isbn == null ? null : ISBN_SEPARATORS.matcher(isbn).replaceAll("");
+        if (compactIsbn != null && !compactIsbn.equals(isbn)) {
+            addTerms(frequencies, compactIsbn, ISBN_WEIGHT);
+        }
+        addTerms(frequencies, description, DESCRIPTION_WEIGHT);
+        return frequencies;
+    }
+
+    private void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static class Index {
+        private final NavigableMap<String, Map<Long, Integer>> postings =
+                new ConcurrentSkipListMap<>();
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final AtomicLong totalLength = new AtomicLong();
+
+        private void add(Long id, Map<String, Integer> frequencies) {
+            remove(id);
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            frequencies.forEach((term, frequency) -> postings
+                    .computeIfAbsent(term, t -> new ConcurrentHashMap<>())
+                    .put(id, frequency));
+            documents.put(id, new Document(frequencies.keySet(), length));
+            totalLength.addAndGet(length);
+        }
+
+        private void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                if (termPostings != null) {
+                    termPostings.remove(id);
+                    if (termPostings.isEmpty()) {
+                        postings.remove(term, termPostings);
+                    }
+                }
+            }
+            totalLength.addAndGet(-document.length);
+        }
+    }
+
+    private static class Document {
+        private final Iterable<String> terms;
+        private final int length;
+
+        private Document(Iterable<String> terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookDeletedEvent;
+import com.example.bookstore.event.BookSavedEvent;
+import com.example.bookstore.event.CategoryDeletedEvent;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.projection.BookCategoryIdView;
+import com.example.bookstore.repository.projection.BookView;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Roaring bitmaps of book ids per category plus one of all live books, so category
+ * filters are evaluated with bitmap AND/OR/ANDNOT instead of joins. The category ids of
+ * every book are kept too, so a book write only touches the bitmaps it was and is in. A
+ * rebuild reads into fresh bitmaps and replays the writes made meanwhile before the swap.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryBitmapIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final long[] NO_CATEGORIES = new long[0];
+    private final BookRepository bookRepository;
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, RoaringBitmap> booksByCategory = new HashMap<>();
+    private Map<Long, long[]> categoryIdsByBook = new HashMap<>();
+    private RoaringBitmap allBooks = new RoaringBitmap();
+    private boolean rebuilding;
+
+    // Runs before the indexes that read category membership from this one
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuild() {
+        write(() -> rebuilding = true);
+        try {
+            Map<Long, RoaringBitmap> categories = new HashMap<>();
+            Map<Long, long[]> bookCategories = new HashMap<>();
+            RoaringBitmap books = new RoaringBitmap();
+            long lastId = 0;
+            List<BookView> page;
+            do {
+                page = bookRepository.findAllViewsByIdGreaterThan(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = page.stream()
+                        .map(BookView::getId)
+                        .collect(Collectors.toList());
+                ids.forEach(id -> books.add(toInt(id)));
+                for (BookCategoryIdView pair : bookRepository.findCategoryIdsByBookIdIn(ids)) {
+                    categories.computeIfAbsent(pair.getCategoryId(), c -> new RoaringBitmap())
+                            .add(toInt(pair.getBookId()));
+                    bookCategories.merge(pair.getBookId(), new long[]{pair.getCategoryId()},
+                            (previous, added) -> LongStream.concat(Arrays.stream(previous),
+                                    Arrays.stream(added)).toArray());
+                }
+                lastId = ids.get(ids.size() - 1);
+            } while (page.size() == REBUILD_BATCH_SIZE);
+            categories.values().forEach(RoaringBitmap::runOptimize);
+            books.runOptimize();
+            lock.writeLock().lock();
+            try {
+                booksByCategory = categories;
+                categoryIdsByBook = bookCategories;
+                allBooks = books;
+                pendingWrites.forEach(Runnable::run);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            write(() -> {
+                rebuilding = false;
+                pendingWrites.clear();
+            });
+        }
+    }
+
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        index(event.getBook().getId(), event.getBook().getCategoryIds());
+    }
+
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        remove(event.getBookId());
+    }
+
+    @EventListener
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        writeAndReplay(() -> booksByCategory.remove(event.getCategoryId()));
+    }
+
+    public void index(Long bookId, Collection<Long> categoryIds) {
+        int id = toInt(bookId);
+        long[] bookCategoryIds = categoryIds == null ? NO_CATEGORIES
+                : categoryIds.stream().mapToLong(Long::longValue).toArray();
+        writeAndReplay(() -> {
+            removeFromCategories(bookId, id);
+            for (long categoryId : bookCategoryIds) {
+                booksByCategory.computeIfAbsent(categoryId, c -> new RoaringBitmap()).add(id);
+            }
+            categoryIdsByBook.put(bookId, bookCategoryIds);
+            allBooks.add(id);
+        });
+    }
+
+    public void remove(Long bookId) {
+        int id = toInt(bookId);
+        writeAndReplay(() -> {
+            removeFromCategories(bookId, id);
+            allBooks.remove(id);
+        });
+    }
+
+    public RoaringBitmap filter(Collection<Long> all, Collection<Long> any,
+                                Collection<Long> none) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = allBooks.clone();
+            for (Long categoryId : all) {
+                result.and(categoryBooks(categoryId));
+            }
+            if (!any.isEmpty()) {
+                result.and(RoaringBitmap.or(any.stream()
+                        .map(this::categoryBooks)
+                        .iterator()));
+            }
+            for (Long categoryId : none) {
+                result.andNot(categoryBooks(categoryId));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> findCategoryIds(Long bookId) {
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(categoryIdsByBook.getOrDefault(bookId, NO_CATEGORIES))
+                    .filter(booksByCategory::containsKey)
+                    .boxed()
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void forEachCategory(BiConsumer<Long, RoaringBitmap> consumer) {
+        lock.readLock().lock();
+        try {
+            booksByCategory.forEach(consumer);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> page(RoaringBitmap books, int offset, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        if (offset >= books.getCardinality()) {
+            return ids;
+        }
+        PeekableIntIterator iterator = books.getIntIterator();
+        iterator.advanceIfNeeded(books.select(offset));
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    private void write(Runnable write) {
+        lock.writeLock().lock();
+        try {
+            write.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void writeAndReplay(Runnable write) {
+        write(() -> {
+            write.run();
+            if (rebuilding) {
+                pendingWrites.add(write);
+            }
+        });
+    }
+
+    private void removeFromCategories(Long bookId, int id) {
+        for (long categoryId : categoryIdsByBook.getOrDefault(bookId, NO_CATEGORIES)) {
+            RoaringBitmap books = booksByCategory.get(categoryId);
+            if (books != null) {
+                books.remove(id);
+            }
+        }
+        categoryIdsByBook.remove(bookId);
+    }
+
+    private RoaringBitmap categoryBooks(Long categoryId) {
+        RoaringBitmap books = booksByCategory.get(categoryId);
+        return books == null ? new RoaringBitmap() : books;
+    }
+
+    private int toInt(Long bookId) {
+        return Math.toIntExact(bookId);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.BookDeletedEvent;
+import com.example.bookstore.event.BookSavedEvent;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.projection.BookView;
+import com.example.bookstore.util.LongLongHashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Book ids keyed by the ISBN-13 packed into a long, plus the reverse mapping so an edited
+ * or deleted book drops its old key. ISBNs that don't normalize are left to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class IsbnIndex {
+    public static final long NOT_FOUND = LongLongHashMap.NO_VALUE;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private final BookRepository bookRepository;
+    private LongLongHashMap idsByIsbn = new LongLongHashMap();
+    private LongLongHashMap isbnsById = new LongLongHashMap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static long pack(String isbn) {
+        if (isbn == null) {
+            return NOT_FOUND;
+        }
+        StringBuilder digits = new StringBuilder(13);
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9' || (c == 'X' || c == 'x') && digits.length() == 9) {
+                digits.append(Character.toUpperCase(c));
+            } else if (c != '-' && c != ' ') {
+                return NOT_FOUND;
+            }
+        }
+        if (digits.length() == 10) {
+            digits.setLength(9);
+            digits.insert(0, "978").append(checkDigit(digits));
+        }
+        if (digits.length() != 13 || digits.indexOf("X") >= 0) {
+            return NOT_FOUND;
+        }
+        long packed = Long.parseLong(digits.toString());
+        return packed == 0 ? NOT_FOUND : packed;
+    }
+
+    public static String toIsbn13(long packed) {
+        return String.format("%013d", packed);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LongLongHashMap ids = new LongLongHashMap();
+        LongLongHashMap isbns = new LongLongHashMap();
+        long lastId = 0;
+        List<BookView> page;
+        do {
+            page = bookRepository.findAllViewsByIdGreaterThan(lastId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            for (BookView book : page) {
+                long isbn = pack(book.getIsbn());
+                if (isbn != NOT_FOUND) {
+                    ids.put(isbn, book.getId());
+                    isbns.put(book.getId(), isbn);
+                }
+                lastId = book.getId();
+            }
+        } while (page.size() == REBUILD_BATCH_SIZE);
+        lock.writeLock().lock();
+        try {
+            idsByIsbn = ids;
+            isbnsById = isbns;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        index(event.getBook().getId(), event.getBook().getIsbn());
+    }
+
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        remove(event.getBookId());
+    }
+
+    public long find(String isbn) {
+        long packed = pack(isbn);
+        if (packed == NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        lock.readLock().lock();
+        try {
+            return idsByIsbn.get(packed);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Long bookId, String isbn) {
+        long packed = pack(isbn);
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+            if (packed != NOT_FOUND) {
+                removeLocked(idsByIsbn.get(packed));
+                idsByIsbn.put(packed, bookId);
+                isbnsById.put(bookId, packed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long bookId) {
+        long isbn = isbnsById.remove(bookId);
+        if (isbn != NOT_FOUND && idsByIsbn.get(isbn) == bookId) {
+            idsByIsbn.remove(isbn);
+        }
+    }
+
+    private static int checkDigit(CharSequence twelveDigits) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (twelveDigits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
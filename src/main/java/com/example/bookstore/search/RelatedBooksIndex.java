@@ -0,0 +1,149 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.OrderCreatedEvent;
+import com.example.bookstore.repository.OrderItemJdbcRepository;
+import com.example.bookstore.util.LongIntHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sparse book-to-book matrix counting the orders that contained both books, plus each
+ * book's top neighbours kept sorted so a read is a single map lookup. Counts only grow
+ * between rebuilds, so a new order can only move the books it bumped up a top list.
+ */
+@Component
+@RequiredArgsConstructor
+public class RelatedBooksIndex {
+    public static final int MAX_RELATED = 20;
+    private static final long ORDERS_PER_SCAN = 10_000;
+    private static final int SCAN_THREADS = 4;
+    private final OrderItemJdbcRepository orderItemJdbcRepository;
+    private final List<OrderCreatedEvent> pendingOrders = new ArrayList<>();
+    private final Object lock = new Object();
+    private Map<Long, LongIntHashMap> counts = new HashMap<>();
+    private volatile Map<Long, long[]> related = new ConcurrentHashMap<>();
+    private boolean rebuilding;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (lock) {
+            rebuilding = true;
+        }
+        try {
+            long maxOrderId = orderItemJdbcRepository.findMaxOrderId();
+            Map<Long, LongIntHashMap> matrix = scan(maxOrderId);
+            Map<Long, long[]> topRelated = new ConcurrentHashMap<>();
+            matrix.entrySet().parallelStream().forEach(row ->
+                    topRelated.put(row.getKey(), TopList.of(row.getValue(), MAX_RELATED)));
+            synchronized (lock) {
+                for (OrderCreatedEvent order : pendingOrders) {
+                    if (order.getOrderId() > maxOrderId) {
+                        add(matrix, topRelated, order.getBookIds());
+                    }
+                }
+                counts = matrix;
+                related = topRelated;
+            }
+        } finally {
+            synchronized (lock) {
+                rebuilding = false;
+                pendingOrders.clear();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        synchronized (lock) {
+            add(counts, related, event.getBookIds());
+            if (rebuilding) {
+                pendingOrders.add(event);
+            }
+        }
+    }
+
+    public List<Long> findRelated(Long bookId, int limit) {
+        long[] top = related.getOrDefault(bookId, TopList.EMPTY);
+        List<Long> ids = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && ids.size() < limit; i++) {
+            ids.add(TopList.idOf(top[i]));
+        }
+        return ids;
+    }
+
+    private Map<Long, LongIntHashMap> scan(long maxOrderId) {
+        ExecutorService executor = Executors.newFixedThreadPool(SCAN_THREADS);
+        try {
+            CompletionService<Map<Long, LongIntHashMap>> scans =
+                    new ExecutorCompletionService<>(executor);
+            int submitted = 0;
+            for (long after = 0; after < maxOrderId; after += ORDERS_PER_SCAN) {
+                long from = after;
+                long to = Math.min(after + ORDERS_PER_SCAN, maxOrderId);
+                scans.submit(() -> {
+                    Map<Long, LongIntHashMap> partial = new HashMap<>();
+                    orderItemJdbcRepository.streamBookIdsByOrder(from, to,
+                            bookIds -> count(partial, bookIds));
+                    return partial;
+                });
+                submitted++;
+            }
+            Map<Long, LongIntHashMap> matrix = new HashMap<>();
+            for (int i = 0; i < submitted; i++) {
+                scans.take().get().forEach((bookId, partialRow) -> {
+                    LongIntHashMap row = matrix.computeIfAbsent(bookId,
+                            id -> new LongIntHashMap());
+                    partialRow.forEach(row::addTo);
+                });
+            }
+            return matrix;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning order items", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Can't scan order items", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void count(Map<Long, LongIntHashMap> matrix, long[] bookIds) {
+        long[] books = Arrays.stream(bookIds).distinct().toArray();
+        for (long bookId : books) {
+            LongIntHashMap row = matrix.computeIfAbsent(bookId, id -> new LongIntHashMap());
+            for (long other : books) {
+                if (other != bookId) {
+                    row.addTo(other, 1);
+                }
+            }
+        }
+    }
+
+    private void add(Map<Long, LongIntHashMap> matrix, Map<Long, long[]> topRelated,
+                     Iterable<Long> bookIds) {
+        for (Long bookId : bookIds) {
+            LongIntHashMap row = matrix.computeIfAbsent(bookId, id -> new LongIntHashMap());
+            long[] top = topRelated.getOrDefault(bookId, TopList.EMPTY);
+            for (Long other : bookIds) {
+                if (!other.equals(bookId)) {
+                    top = TopList.promote(top, other, row.addTo(other, 1), MAX_RELATED);
+                }
+            }
+            topRelated.put(bookId, top);
+        }
+    }
+}
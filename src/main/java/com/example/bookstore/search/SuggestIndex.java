@@ -0,0 +1,374 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.dto.SuggestionDto;
+import com.example.bookstore.event.BookDeletedEvent;
+import com.example.bookstore.event.BookSavedEvent;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.OrderItemRepository;
+import com.example.bookstore.repository.projection.BookSalesView;
+import com.example.bookstore.repository.projection.BookView;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Type-ahead completions over normalized titles and authors weighted by units sold.
+ * Entries live in sorted UTF-8 byte arrays with a max-weight segment tree, so the best
+ * completions of a prefix are found without scanning its whole range. Writes go to a small
+ * delta that the scheduled merge folds back into the arrays; a slower scheduled refresh
+ * reloads the weights so they follow sales.
+ */
+@Component
+@RequiredArgsConstructor
+public class SuggestIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final long NO_BOOK = -1L;
+    private static final char KEY_SEPARATOR = '\u0000';
+    private final BookRepository bookRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final Object deltaLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot(new ArrayList<>());
+    private volatile Delta delta = new Delta();
+    private volatile Delta mergingDelta = new Delta();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (deltaLock) {
+                mergingDelta = delta;
+                delta = new Delta();
+            }
+            snapshot = load();
+            mergingDelta = new Delta();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bookstore.suggest.merge-delay-millis:300000}",
+            initialDelayString = "${bookstore.suggest.merge-delay-millis:300000}")
+    public void mergeDelta() {
+        if (!delta.changedBooks.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bookstore.suggest.refresh-delay-millis:3600000}",
+            initialDelayString = "${bookstore.suggest.refresh-delay-millis:3600000}")
+    public void refreshWeights() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onBookSaved(BookSavedEvent event) {
+        index(event.getBook().getId(), event.getBook().getTitle(), event.getBook().getAuthor());
+    }
+
+    @EventListener
+    public void onBookDeleted(BookDeletedEvent event) {
+        remove(event.getBookId());
+    }
+
+    public void index(Long id, String title, String author) {
+        synchronized (deltaLock) {
+            Delta current = delta;
+            current.removeTitle(id);
+            String titleKey = TextNormalizer.normalize(title);
+            if (!titleKey.isEmpty()) {
+                String key = titleKey + KEY_SEPARATOR + id;
+                current.entries.put(key, new Candidate(
+                        new SuggestionDto(title, SuggestionDto.Type.TITLE, id),
+                        snapshot.weightOf(id)));
+                current.titleKeys.put(id, key);
+            }
+            String authorKey = TextNormalizer.normalize(author);
+            if (!authorKey.isEmpty()) {
+                current.entries.putIfAbsent(authorKey + KEY_SEPARATOR, new Candidate(
+                        new SuggestionDto(author, SuggestionDto.Type.AUTHOR, null), 0));
+            }
+        }
+    }
+
+    public void remove(Long id) {
+        synchronized (deltaLock) {
+            delta.removeTitle(id);
+        }
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        Delta current = delta;
+        Delta merging = mergingDelta;
+        List<Candidate> candidates = new ArrayList<>();
+        snapshot.top(normalized.getBytes(StandardCharsets.UTF_8), limit,
+                id -> current.changedBooks.contains(id) || merging.changedBooks.contains(id),
+                candidates);
+        merging.top(normalized, limit, current.changedBooks::contains, candidates);
+        current.top(normalized, limit, id -> false, candidates);
+        candidates.sort(Comparator.comparingInt((Candidate c) -> c.weight).reversed());
+        List<SuggestionDto> suggestions = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        for (Candidate candidate : candidates) {
+            SuggestionDto suggestion = candidate.suggestion;
+            String identity = suggestion.getType() == SuggestionDto.Type.AUTHOR
+                    ? "a" + TextNormalizer.normalize(suggestion.getText())
+                    : "t" + suggestion.getBookId();
+            if (seen.add(identity)) {
+                suggestions.add(suggestion);
+                if (suggestions.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    private Snapshot load() {
+        Map<Long, Long> sales = new HashMap<>();
+        for (BookSalesView bookSales : orderItemRepository.findSalesPerBook()) {
+            sales.put(bookSales.getBookId(), bookSales.getQuantity());
+        }
+        List<Entry> entries = new ArrayList<>();
+        Map<String, Entry> authors = new HashMap<>();
+        long lastId = 0;
+        List<BookView> books;
+        do {
+            books = bookRepository.findAllViewsByIdGreaterThan(lastId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            for (BookView book : books) {
+                int weight = (int) Math.min(Integer.MAX_VALUE,
+                        sales.getOrDefault(book.getId(), 0L));
+                String titleKey = TextNormalizer.normalize(book.getTitle());
+                if (!titleKey.isEmpty()) {
+                    entries.add(new Entry(titleKey, book.getTitle(), book.getId(), weight));
+                }
+                String authorKey = TextNormalizer.normalize(book.getAuthor());
+                if (!authorKey.isEmpty()) {
+                    authors.computeIfAbsent(authorKey,
+                            key -> new Entry(key, book.getAuthor(), NO_BOOK, 0))
+                            .addWeight(weight);
+                }
+                lastId = book.getId();
+            }
+        } while (books.size() == REBUILD_BATCH_SIZE);
+        entries.addAll(authors.values());
+        return new Snapshot(entries);
+    }
+
+    private static class Candidate {
+        private final SuggestionDto suggestion;
+        private final int weight;
+
+        private Candidate(SuggestionDto suggestion, int weight) {
+            this.suggestion = suggestion;
+            this.weight = weight;
+        }
+    }
+
+    private static class Entry {
+        private final byte[] key;
+        private final byte[] text;
+        private final long bookId;
+        private int weight;
+
+        private Entry(String key, String text, long bookId, int weight) {
+            this.key = key.getBytes(StandardCharsets.UTF_8);
+            this.text = text.getBytes(StandardCharsets.UTF_8);
+            this.bookId = bookId;
+            this.weight = weight;
+        }
+
+        private void addWeight(int extra) {
+            weight = (int) Math.min(Integer.MAX_VALUE, (long) weight + extra);
+        }
+    }
+
+    private static class Delta {
+        private final NavigableMap<String, Candidate> entries = new ConcurrentSkipListMap<>();
+        private final Map<Long, String> titleKeys = new ConcurrentHashMap<>();
+        private final Set<Long> changedBooks = ConcurrentHashMap.newKeySet();
+
+        private void removeTitle(Long id) {
+            changedBooks.add(id);
+            String key = titleKeys.remove(id);
+            if (key != null) {
+                entries.remove(key);
+            }
+        }
+
+        private void top(String prefix, int limit, LongPredicate excluded,
+                         List<Candidate> candidates) {
+            PriorityQueue<Candidate> heaviest = new PriorityQueue<>(
+                    Comparator.comparingInt((Candidate candidate) -> candidate.weight));
+            for (Candidate candidate : entries
+                    .subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                Long bookId = candidate.suggestion.getBookId();
+                if (bookId == null || !excluded.test(bookId)) {
+                    heaviest.add(candidate);
+                    if (heaviest.size() > limit) {
+                        heaviest.poll();
+                    }
+                }
+            }
+            candidates.addAll(heaviest);
+        }
+    }
+
+    private static class Snapshot {
+        private final byte[] keys;
+        private final int[] keyOffsets;
+        private final byte[] texts;
+        private final int[] textOffsets;
+        private final long[] bookIds;
+        private final int[] weights;
+        private final int[] maxTree;
+        private final long[] titleBookIds;
+        private final int[] titleWeights;
+        private final int size;
+
+        private Snapshot(List<Entry> entries) {
+            entries.sort((first, second) -> Arrays.compareUnsigned(first.key, second.key));
+            size = entries.size();
+            keyOffsets = new int[size + 1];
+            textOffsets = new int[size + 1];
+            bookIds = new long[size];
+            weights = new int[size];
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries.get(i);
+                keyOffsets[i + 1] = keyOffsets[i] + entry.key.length;
+                textOffsets[i + 1] = textOffsets[i] + entry.text.length;
+                bookIds[i] = entry.bookId;
+                weights[i] = entry.weight;
+            }
+            keys = new byte[keyOffsets[size]];
+            texts = new byte[textOffsets[size]];
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries.get(i);
+                System.arraycopy(entry.key, 0, keys, keyOffsets[i], entry.key.length);
+                System.arraycopy(entry.text, 0, texts, textOffsets[i], entry.text.length);
+            }
+            maxTree = new int[2 * size];
+            for (int i = 0; i < size; i++) {
+                maxTree[size + i] = i;
+            }
+            for (int i = size - 1; i > 0; i--) {
+                maxTree[i] = heavier(maxTree[2 * i], maxTree[2 * i + 1]);
+            }
+            List<Entry> titles = entries.stream()
+                    .filter(entry -> entry.bookId != NO_BOOK)
+                    .sorted(Comparator.comparingLong((Entry entry) -> entry.bookId))
+                    .collect(Collectors.toList());
+            titleBookIds = new long[titles.size()];
+            titleWeights = new int[titles.size()];
+            for (int i = 0; i < titles.size(); i++) {
+                titleBookIds[i] = titles.get(i).bookId;
+                titleWeights[i] = titles.get(i).weight;
+            }
+        }
+
+        private int weightOf(long bookId) {
+            int index = Arrays.binarySearch(titleBookIds, bookId);
+            return index < 0 ? 0 : titleWeights[index];
+        }
+
+        private void top(byte[] prefix, int limit, LongPredicate excluded,
+                         List<Candidate> candidates) {
+            int from = lowerBound(prefix, false);
+            int to = lowerBound(prefix, true);
+            if (from >= to) {
+                return;
+            }
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                    (first, second) -> Integer.compare(weights[second[2]], weights[first[2]]));
+            ranges.add(new int[]{from, to, heaviest(from, to)});
+            int found = 0;
+            while (!ranges.isEmpty() && found < limit) {
+                int[] range = ranges.poll();
+                int index = range[2];
+                if (bookIds[index] == NO_BOOK || !excluded.test(bookIds[index])) {
+                    candidates.add(new Candidate(suggestion(index), weights[index]));
+                    found++;
+                }
+                if (range[0] < index) {
+                    ranges.add(new int[]{range[0], index, heaviest(range[0], index)});
+                }
+                if (index + 1 < range[1]) {
+                    ranges.add(new int[]{index + 1, range[1], heaviest(index + 1, range[1])});
+                }
+            }
+        }
+
+        private SuggestionDto suggestion(int index) {
+            String text = new String(texts, textOffsets[index],
+                    textOffsets[index + 1] - textOffsets[index], StandardCharsets.UTF_8);
+            return bookIds[index] == NO_BOOK
+                    ? new SuggestionDto(text, SuggestionDto.Type.AUTHOR, null)
+                    : new SuggestionDto(text, SuggestionDto.Type.TITLE, bookIds[index]);
+        }
+
+        private int lowerBound(byte[] prefix, boolean pastPrefix) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = compare(middle, prefix, pastPrefix);
+                if (comparison < 0 || pastPrefix && comparison == 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int compare(int index, byte[] prefix, boolean truncate) {
+            int start = keyOffsets[index];
+            int length = keyOffsets[index + 1] - start;
+            if (truncate) {
+                length = Math.min(length, prefix.length);
+            }
+            return Arrays.compareUnsigned(keys, start, start + length, prefix, 0, prefix.length);
+        }
+
+        private int heaviest(int from, int to) {
+            int best = -1;
+            for (int low = from + size, high = to + size; low < high; low >>= 1, high >>= 1) {
+                if ((low & 1) == 1) {
+                    best = heavier(best, maxTree[low++]);
+                }
+                if ((high & 1) == 1) {
+                    best = heavier(best, maxTree[--high]);
+                }
+            }
+            return best;
+        }
+
+        private int heavier(int first, int second) {
+            if (first < 0) {
+                return second;
+            }
+            return weights[second] > weights[first] ? second : first;
+        }
+    }
+}
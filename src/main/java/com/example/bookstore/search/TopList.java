@@ -0,0 +1,84 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.util.LongIntHashMap;
+import java.util.Arrays;
+
+/**
+ * Top-k book lists packed as sorted long arrays: count in the high half, inverted book id
+ * in the low half, so plain long order ranks by count and then by lower id.
+ */
+final class TopList {
+    static final long[] EMPTY = new long[0];
+    private static final long ID_MASK = 0xFFFFFFFFL;
+
+    private TopList() {
+    }
+
+    static long entry(long bookId, int count) {
+        return ((long) count << 32) | (ID_MASK - bookId);
+    }
+
+    static long idOf(long entry) {
+        return ID_MASK - (entry & ID_MASK);
+    }
+
+    static int countOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    static long[] of(LongIntHashMap counts, int limit) {
+        long[] entries = new long[counts.size()];
+        int[] size = {0};
+        counts.forEach((bookId, count) -> {
+            if (count > 0) {
+                entries[size[0]++] = entry(bookId, count);
+            }
+        });
+        return top(entries, size[0], limit);
+    }
+
+    static long[] top(long[] entries, int size, int limit) {
+        Arrays.sort(entries, 0, size);
+        long[] top = new long[Math.min(size, limit)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = entries[size - 1 - i];
+        }
+        return top;
+    }
+
+    /**
+     * Returns a copy of {@code top} with the book's count raised to {@code count}. Exact
+     * as long as no other count changed since the list was built.
+     */
+    static long[] promote(long[] top, long bookId, int count, int limit) {
+        long entry = entry(bookId, count);
+        int existing = -1;
+        for (int i = 0; i < top.length; i++) {
+            if (idOf(top[i]) == bookId) {
+                existing = i;
+            }
+        }
+        if (existing < 0 && top.length == limit && entry <= top[top.length - 1]) {
+            return top;
+        }
+        long[] result = new long[existing < 0 ? Math.min(top.length + 1, limit) : top.length];
+        int size = 0;
+        boolean placed = false;
+        for (int i = 0; i < top.length; i++) {
+            if (i == existing) {
+                continue;
+            }
+            if (!placed && entry > top[i]) {
+                result[size++] = entry;
+                placed = true;
+            }
+            if (size < result.length) {
+                result[size++] = top[i];
+            }
+        }
+        if (!placed) {
+            result[size] = entry;
+        }
+        return result;
+    }
+}
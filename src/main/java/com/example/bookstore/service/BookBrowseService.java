@@ -0,0 +1,9 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.BookBrowsePageDto;
+import com.example.bookstore.dto.BookBrowseRequestDto;
+import org.springframework.data.domain.Pageable;
+
+public interface BookBrowseService {
+    BookBrowsePageDto browse(BookBrowseRequestDto filter, Pageable pageable);
+}
@@ -0,0 +1,9 @@
+package com.example.bookstore.service;
+
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void exportNdjson(OutputStream outputStream);
+
+    void exportCsv(OutputStream outputStream);
+}
@@ -0,0 +1,10 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.BookImportReportDto;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportReportDto importNdjson(InputStream inputStream);
+
+    BookImportReportDto importCsv(InputStream inputStream);
+}
@@ -1,9 +1,16 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.BestsellerDto;
+import com.example.bookstore.dto.BookCursorPageDto;
 import com.example.bookstore.dto.BookDto;
 import com.example.bookstore.dto.BookDtoWithoutCategoryIds;
+import com.example.bookstore.dto.BookPageDto;
 import com.example.bookstore.dto.CreateBookRequestDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.dto.SuggestionDto;
+import com.example.bookstore.search.BestsellerPeriod;
 import java.util.List;
+import java.util.Set;
 import org.springframework.data.domain.Pageable;
 
 public interface BookService {
@@ -11,11 +18,38 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    BookCursorPageDto findAllAfter(String cursor, int size);
+
     BookDto getById(Long id);
 
+    ResourceVersionDto getVersionById(Long id);
+
+    ResourceVersionDto getCatalogVersion();
+
+    List<BookDto> findAllByIds(List<Long> ids);
+
+    BookDto getByIsbn(String isbn);
+
+    List<BookDto> findAllByIsbns(List<String> isbns);
+
+    List<BookDto> search(String query, int size);
+
+    List<SuggestionDto> suggest(String prefix, int size);
+
+    List<BookDto> findRelated(Long id, int size);
+
+    List<BestsellerDto> findBestsellers(Long categoryId, BestsellerPeriod period, int size);
+
+    BookPageDto filterByCategories(Set<Long> all, Set<Long> any, Set<Long> none,
+                                   Pageable pageable);
+
     BookDto update(Long id, CreateBookRequestDto bookRequestDto);
 
+    BookDto updateCoverImage(Long id, String coverImage);
+
     void delete(Long id);
 
     List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId);
+
+    List<BookDtoWithoutCategoryIds> findAllByCategorySubtree(Long categoryId);
 }
@@ -0,0 +1,8 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.CacheStatsDto;
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheStatsDto> getAll();
+}
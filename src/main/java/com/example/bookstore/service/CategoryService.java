@@ -2,14 +2,26 @@ package com.example.bookstore.service;
 
 import com.example.bookstore.dto.CategoryRequestDto;
 import com.example.bookstore.dto.CategoryResponseDto;
+import com.example.bookstore.dto.CategoryTreeDto;
+import com.example.bookstore.dto.ResourceVersionDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
 public interface CategoryService {
     List<CategoryResponseDto> findAll(Pageable pageable);
 
+    byte[] findAllAsJson();
+
     CategoryResponseDto getById(Long id);
 
+    List<CategoryTreeDto> getTree();
+
+    List<CategoryResponseDto> getBreadcrumbs(Long id);
+
+    ResourceVersionDto getVersionById(Long id);
+
+    ResourceVersionDto getAllVersion();
+
     CategoryResponseDto save(CategoryRequestDto categoryDto);
 
     CategoryResponseDto update(Long id, CategoryRequestDto categoryDto);
@@ -0,0 +1,8 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.CoverImageDto;
+import java.io.InputStream;
+
+public interface CoverImageService {
+    CoverImageDto upload(Long bookId, InputStream inputStream);
+}
@@ -0,0 +1,11 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.CreateOrderRequestDto;
+import com.example.bookstore.dto.OrderRequestStatusDto;
+import com.example.bookstore.model.User;
+
+public interface OrderRequestService {
+    OrderRequestStatusDto submit(User user, CreateOrderRequestDto requestDto);
+
+    OrderRequestStatusDto getStatus(User user, String requestId);
+}
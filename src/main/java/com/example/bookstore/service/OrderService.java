@@ -1,5 +1,7 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.BulkUpdateOrderStatusReportDto;
+import com.example.bookstore.dto.BulkUpdateOrderStatusRequestDto;
 import com.example.bookstore.dto.CreateOrderRequestDto;
 import com.example.bookstore.dto.OrderItemResponseDto;
 import com.example.bookstore.dto.OrderResponseDto;
@@ -7,14 +9,19 @@ import com.example.bookstore.dto.UpdateOrderRequestDto;
 import com.example.bookstore.model.User;
 import java.util.List;
 import java.util.Set;
+import org.springframework.data.domain.Pageable;
 
 public interface OrderService {
     OrderResponseDto createOrder(User user, CreateOrderRequestDto requestDto);
 
-    List<OrderResponseDto> getAllOrders(User user);
+    Long createQueuedOrder(User user, CreateOrderRequestDto requestDto, String requestId);
+
+    List<OrderResponseDto> getAllOrders(User user, Pageable pageable);
 
     void updateStatus(Long orderId, UpdateOrderRequestDto requestDto);
 
+    BulkUpdateOrderStatusReportDto updateStatuses(BulkUpdateOrderStatusRequestDto requestDto);
+
     Set<OrderItemResponseDto> getAllItems(User user, Long orderId);
 
     OrderItemResponseDto getItem(User user, Long orderId, Long itemId);
@@ -0,0 +1,15 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.OrderSummaryDto;
+import com.example.bookstore.dto.OrderSummaryRebuildReportDto;
+import com.example.bookstore.model.User;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderSummaryService {
+    List<OrderSummaryDto> findAllByUser(User user, Pageable pageable);
+
+    List<OrderSummaryDto> findAll(Pageable pageable);
+
+    OrderSummaryRebuildReportDto rebuild();
+}
@@ -1,5 +1,7 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.CartBatchRequestDto;
+import com.example.bookstore.dto.CartBatchResponseDto;
 import com.example.bookstore.dto.CartItemRequestDto;
 import com.example.bookstore.dto.ShoppingCartResponseDto;
 import com.example.bookstore.dto.UpdateQuantityRequestDto;
@@ -15,4 +17,6 @@ public interface ShoppingCartService {
     void updateQuantity(User user, Long cartItemId, UpdateQuantityRequestDto quantity);
 
     void delete(User user, Long cartItemId);
+
+    CartBatchResponseDto applyOperations(User user, CartBatchRequestDto requestDto);
 }
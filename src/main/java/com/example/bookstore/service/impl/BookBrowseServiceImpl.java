@@ -0,0 +1,56 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.dto.BookBrowsePageDto;
+import com.example.bookstore.dto.BookBrowseRequestDto;
+import com.example.bookstore.dto.BookFacetsDto;
+import com.example.bookstore.dto.FacetValueDto;
+import com.example.bookstore.exception.InvalidRequestException;
+import com.example.bookstore.repository.BookFacetRepository;
+import com.example.bookstore.service.BookBrowseService;
+import com.example.bookstore.service.BookService;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookBrowseServiceImpl implements BookBrowseService {
+    private static final Sort.Order DEFAULT_ORDER = Sort.Order.asc("title");
+    private final BookFacetRepository bookFacetRepository;
+    private final BookService bookService;
+
+    @Override
+    public BookBrowsePageDto browse(BookBrowseRequestDto filter, Pageable pageable) {
+        Sort.Order order = getOrder(pageable.getSort());
+        BookFacetsDto facets = bookFacetRepository.countFacets(filter);
+        long total = facets.getPrices().stream()
+                .mapToLong(FacetValueDto::getCount)
+                .sum();
+        BookBrowsePageDto page = new BookBrowsePageDto();
+        page.setFacets(facets);
+        page.setTotalElements(total);
+        if (pageable.getOffset() >= total) {
+            page.setBooks(new ArrayList<>());
+        } else {
+            List<Long> ids = bookFacetRepository.findIds(filter, order, pageable.getOffset(),
+                    pageable.getPageSize());
+            page.setBooks(bookService.findAllByIds(ids));
+        }
+        return page;
+    }
+
+    private Sort.Order getOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return DEFAULT_ORDER;
+        }
+        if (orders.size() > 1 || !BookFacetRepository.isSortable(orders.get(0).getProperty())) {
+            throw new InvalidRequestException("Books can only be sorted by one of "
+                    + "price, title or author");
+        }
+        return orders.get(0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.dto.BookDto;
+import com.example.bookstore.repository.BookJdbcRepository;
+import com.example.bookstore.service.BookExportService;
+import com.example.bookstore.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+    private static final List<String> CSV_HEADER = List.of("id", "title", "author", "isbn",
+            "price", "description", "coverImage", "categoryIds");
+    private static final String CATEGORY_IDS_SEPARATOR = ";";
+    private final BookJdbcRepository bookJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportNdjson(OutputStream outputStream) {
+        ObjectWriter writer = objectMapper.writerFor(BookDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            bookJdbcRepository.streamAll(book -> {
+                try {
+                    writer.writeValue(generator, book);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Can't write the export stream", e);
+                }
+            });
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write the export stream", e);
+        }
+    }
+
+    @Override
+    public void exportCsv(OutputStream outputStream) {
+        CsvWriter writer = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        try {
+            writer.writeRecord(CSV_HEADER);
+            bookJdbcRepository.streamAll(book -> {
+                try {
+                    writer.writeRecord(toCsvRecord(book));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Can't write the export stream", e);
+                }
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write the export stream", e);
+        }
+    }
+
+    private List<String> toCsvRecord(BookDto book) {
+        return Arrays.asList(String.valueOf(book.getId()), book.getTitle(), book.getAuthor(),
+                book.getIsbn(), book.getPrice() == null ? null : book.getPrice().toPlainString(),
+                book.getDescription(), book.getCoverImage(), book.getCategoryIds().stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(CATEGORY_IDS_SEPARATOR)));
+    }
+}
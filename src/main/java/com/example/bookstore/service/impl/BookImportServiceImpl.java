@@ -0,0 +1,288 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.dto.BookDto;
+import com.example.bookstore.dto.BookImportErrorDto;
+import com.example.bookstore.dto.BookImportReportDto;
+import com.example.bookstore.dto.CreateBookRequestDto;
+import com.example.bookstore.event.BookSavedEvent;
+import com.example.bookstore.exception.InvalidRequestException;
+import com.example.bookstore.mapper.BookMapper;
+import com.example.bookstore.repository.BookJdbcRepository;
+import com.example.bookstore.repository.CategoryRepository;
+import com.example.bookstore.service.BookImportService;
+import com.example.bookstore.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+    private static final List<String> CSV_COLUMNS = List.of("title", "author", "isbn", "price",
+            "description", "coverImage", "categoryIds");
+    private static final String CATEGORY_IDS_SEPARATOR = ";";
+    private final BookJdbcRepository bookJdbcRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public BookImportReportDto importNdjson(InputStream inputStream) {
+        ImportRun run = new ImportRun(categoryRepository.findAllIds());
+        ObjectReader reader = objectMapper.readerFor(CreateBookRequestDto.class);
+        try (BufferedReader lines = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.accept(lineNumber, reader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read the import stream", e);
+        }
+        return run.finish();
+    }
+
+    @Override
+    public BookImportReportDto importCsv(InputStream inputStream) {
+        ImportRun run = new ImportRun(categoryRepository.findAllIds());
+        try (CsvReader reader = new CsvReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(reader.readRecord());
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    run.accept(reader.getLineNumber(), toRequestDto(record, columns));
+                } catch (IllegalArgumentException e) {
+                    run.reject(reader.getLineNumber(), "Malformed CSV row: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read the import stream", e);
+        }
+        return run.finish();
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new InvalidRequestException("CSV header is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String column : List.of("title", "author", "isbn", "price", "categoryIds")) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidRequestException("CSV header must contain " + CSV_COLUMNS
+                        + ", column " + column + " is missing");
+            }
+        }
+        return columns;
+    }
+
+    private CreateBookRequestDto toRequestDto(List<String> record, Map<String, Integer> columns) {
+        CreateBookRequestDto book = new CreateBookRequestDto();
+        book.setTitle(column(record, columns, "title"));
+        book.setAuthor(column(record, columns, "author"));
+        book.setIsbn(column(record, columns, "isbn"));
+        String price = column(record, columns, "price");
+        book.setPrice(price == null ? null : new BigDecimal(price.trim()));
+        book.setDescription(column(record, columns, "description"));
+        book.setCoverImage(column(record, columns, "coverImage"));
+        String categoryIds = column(record, columns, "categoryIds");
+        book.setCategoryIds(categoryIds == null ? new HashSet<>()
+                : Arrays.stream(categoryIds.split(CATEGORY_IDS_SEPARATOR))
+                        .map(String::trim)
+                        .filter(id -> !id.isEmpty())
+                        .map(Long::valueOf)
+                        .collect(Collectors.toSet()));
+        return book;
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private class ImportRun {
+        private final Set<Long> categoryIds;
+        private final long startedAt = System.nanoTime();
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+
+        private ImportRun(Set<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+        }
+
+        private void accept(long line, CreateBookRequestDto book) {
+            totalRows++;
+            Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(book);
+            if (!violations.isEmpty()) {
+                fail(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            Set<Long> unknownCategories = book.getCategoryIds().stream()
+                    .filter(id -> !categoryIds.contains(id))
+                    .collect(Collectors.toSet());
+            if (!unknownCategories.isEmpty()) {
+                fail(line, "Categories " + unknownCategories + " not found");
+                return;
+            }
+            chunk.add(new ImportRow(line, book));
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void reject(long line, String message) {
+            totalRows++;
+            fail(line, message);
+        }
+
+        private void fail(long line, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportErrorDto(line, message));
+            }
+        }
+
+        private BookImportReportDto finish() {
+            flush();
+            long durationMillis = (System.nanoTime() - startedAt) / NANOS_PER_MILLI;
+            BookImportReportDto report = new BookImportReportDto();
+            report.setTotalRows(totalRows);
+            report.setImportedRows(importedRows);
+            report.setFailedRows(failedRows);
+            report.setErrors(errors);
+            report.setDurationMillis(durationMillis);
+            report.setRowsPerSecond(durationMillis == 0 ? importedRows
+                    : importedRows * MILLIS_PER_SECOND / durationMillis);
+            return report;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<ImportRow> rows = new ArrayList<>(chunk);
+            chunk.clear();
+            Map<String, Long> ids;
+            try {
+                ids = insertSkippingExisting(rows);
+            } catch (DataAccessException e) {
+                rows.forEach(row -> fail(row.line, "Batch insert failed: "
+                        + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            Set<String> published = new HashSet<>();
+            for (ImportRow row : rows) {
+                String isbn = row.book.getIsbn();
+                Long id = ids.get(isbn);
+                if (id == null || !published.add(isbn)) {
+                    fail(row.line, "Book with isbn " + isbn + " already exists");
+                    continue;
+                }
+                importedRows++;
+                BookDto savedBook = bookMapper.toDto(row.book);
+                savedBook.setId(id);
+                eventPublisher.publishEvent(new BookSavedEvent(savedBook));
+            }
+        }
+
+        private Map<String, Long> insertSkippingExisting(List<ImportRow> rows) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> insert(rows));
+                } catch (DuplicateKeyException e) {
+                    // another writer took one of the isbns after the check; the chunk was
+                    // rolled back and the next attempt reports that isbn as existing
+                    if (attempt == MAX_INSERT_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private Map<String, Long> insert(List<ImportRow> rows) {
+            Set<String> existingIsbns = bookJdbcRepository.findExistingIsbns(rows.stream()
+                    .map(row -> row.book.getIsbn())
+                    .collect(Collectors.toSet()));
+            Map<String, ImportRow> accepted = new HashMap<>();
+            for (ImportRow row : rows) {
+                if (!existingIsbns.contains(row.book.getIsbn())) {
+                    accepted.putIfAbsent(row.book.getIsbn(), row);
+                }
+            }
+            bookJdbcRepository.insertBooks(accepted.values().stream()
+                    .map(row -> row.book)
+                    .collect(Collectors.toList()));
+            Map<String, Long> ids = bookJdbcRepository.findIdsByIsbns(accepted.keySet());
+            Map<Long, Set<Long>> categoryIdsByBookId = new HashMap<>();
+            ids.forEach((isbn, id) -> categoryIdsByBookId.put(id,
+                    accepted.get(isbn).book.getCategoryIds()));
+            bookJdbcRepository.insertBookCategories(categoryIdsByBookId);
+            return ids;
+        }
+    }
+
+    private static class ImportRow {
+        private final long line;
+        private final CreateBookRequestDto book;
+
+        private ImportRow(long line, CreateBookRequestDto book) {
+            this.line = line;
+            this.book = book;
+        }
+    }
+}
@@ -1,70 +1,289 @@
 package com.example.bookstore.service.impl;
 
+import com.example.bookstore.config.CacheConfig;
+import com.example.bookstore.dto.BestsellerDto;
+import com.example.bookstore.dto.BookCursorPageDto;
 import com.example.bookstore.dto.BookDto;
 import com.example.bookstore.dto.BookDtoWithoutCategoryIds;
+import com.example.bookstore.dto.BookPageDto;
 import com.example.bookstore.dto.CreateBookRequestDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.dto.SuggestionDto;
+import com.example.bookstore.event.BookDeletedEvent;
+import com.example.bookstore.event.BookSavedEvent;
 import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.exception.InvalidRequestException;
 import com.example.bookstore.mapper.BookMapper;
 import com.example.bookstore.model.Book;
 import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.repository.CategoryRepository;
+import com.example.bookstore.repository.ResourceVersionRepository;
+import com.example.bookstore.repository.projection.BookView;
+import com.example.bookstore.search.BestsellerIndex;
+import com.example.bookstore.search.BestsellerPeriod;
+import com.example.bookstore.search.BookSearchIndex;
+import com.example.bookstore.search.CategoryBitmapIndex;
+import com.example.bookstore.search.IsbnIndex;
+import com.example.bookstore.search.RelatedBooksIndex;
+import com.example.bookstore.search.SuggestIndex;
 import com.example.bookstore.service.BookService;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final long FIRST_CURSOR_ID = 0L;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_ISBN_BATCH_SIZE = 100;
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final CategoryRepository categoryRepository;
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final CategoryBitmapIndex categoryBitmapIndex;
+    private final SuggestIndex suggestIndex;
+    private final IsbnIndex isbnIndex;
+    private final RelatedBooksIndex relatedBooksIndex;
+    private final BestsellerIndex bestsellerIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BookDto save(CreateBookRequestDto bookDto) {
         Book book = bookMapper.toModel(bookDto);
         setCategories(bookDto, book);
-        return bookMapper.toDto(bookRepository.save(book));
+        BookDto savedBook = bookMapper.toDto(bookRepository.save(book));
+        eventPublisher.publishEvent(new BookSavedEvent(savedBook));
+        return savedBook;
     }
 
     @Override
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+        return toDtos(bookRepository.findAllViews(pageable));
+    }
+
+    @Override
+    public BookCursorPageDto findAllAfter(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        List<BookView> books = bookRepository.findAllViewsByIdGreaterThan(decodeCursor(cursor),
+                PageRequest.of(0, pageSize + 1, Sort.by("id")));
+        BookCursorPageDto page = new BookCursorPageDto();
+        page.setBooks(toDtos(books.subList(0, Math.min(books.size(), pageSize))));
+        if (books.size() > pageSize) {
+            page.setNextCursor(encodeCursor(books.get(pageSize - 1).getId()));
+        }
+        return page;
     }
 
     @Override
+    @Cacheable(value = CacheConfig.BOOKS_CACHE, key = "#id", sync = true)
     public BookDto getById(Long id) {
+        ResourceVersionDto version = getVersionById(id);
         Book book = bookRepository.findById(id).orElseThrow(() ->
                 new EntityNotFoundException("Book with id " + id + " not found."));
-        return bookMapper.toDto(book);
+        BookDto bookDto = bookMapper.toDto(book);
+        bookDto.setVersion(version);
+        return bookDto;
+    }
+
+    @Override
+    public ResourceVersionDto getVersionById(Long id) {
+        return resourceVersionRepository.findBookVersion(id).orElseThrow(() ->
+                new EntityNotFoundException("Book with id " + id + " not found."));
+    }
+
+    @Override
+    public ResourceVersionDto getCatalogVersion() {
+        return resourceVersionRepository.findBooksVersion();
+    }
+
+    @Override
+    public List<BookDto> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, BookDto> booksById = toDtos(bookRepository.findAllViewsByIdIn(ids)).stream()
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public BookDto getByIsbn(String isbn) {
+        List<BookDto> books = findAllByIsbns(List.of(isbn));
+        if (books.isEmpty()) {
+            throw new EntityNotFoundException("Book with isbn " + isbn + " not found.");
+        }
+        return books.get(0);
+    }
+
+    @Override
+    public List<BookDto> findAllByIsbns(List<String> isbns) {
+        if (isbns.size() > MAX_ISBN_BATCH_SIZE) {
+            throw new InvalidRequestException("Can't look up more than "
+                    + MAX_ISBN_BATCH_SIZE + " isbns at once");
+        }
+        List<Long> ids = new ArrayList<>();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String isbn : isbns) {
+            long id = isbnIndex.find(isbn);
+            if (id == IsbnIndex.NOT_FOUND) {
+                misses.add(isbn.trim());
+                long packed = IsbnIndex.pack(isbn);
+                if (packed != IsbnIndex.NOT_FOUND) {
+                    misses.add(IsbnIndex.toIsbn13(packed));
+                }
+            } else {
+                ids.add(id);
+            }
+        }
+        Map<Long, BookDto> books = new LinkedHashMap<>();
+        findAllByIds(ids).forEach(book -> books.put(book.getId(), book));
+        if (!misses.isEmpty()) {
+            for (BookDto book : toDtos(bookRepository.findAllViewsByIsbnIn(misses))) {
+                isbnIndex.index(book.getId(), book.getIsbn());
+                books.put(book.getId(), book);
+            }
+        }
+        return new ArrayList<>(books.values());
+    }
+
+    @Override
+    public List<BookDto> search(String query, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_SEARCH_RESULTS);
+        return findAllByIds(bookSearchIndex.search(query, limit));
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String prefix, int size) {
+        return suggestIndex.suggest(prefix, Math.min(Math.max(size, 1), MAX_SUGGESTIONS));
     }
 
     @Override
+    public List<BookDto> findRelated(Long id, int size) {
+        int limit = Math.min(Math.max(size, 1), RelatedBooksIndex.MAX_RELATED);
+        return findAllByIds(relatedBooksIndex.findRelated(id, limit));
+    }
+
+    @Override
+    public List<BestsellerDto> findBestsellers(Long categoryId, BestsellerPeriod period,
+                                               int size) {
+        int limit = Math.min(Math.max(size, 1), BestsellerIndex.MAX_BESTSELLERS);
+        Map<Long, Integer> sold = bestsellerIndex.findBestsellers(period, categoryId, limit);
+        return findAllByIds(new ArrayList<>(sold.keySet())).stream()
+                .map(book -> new BestsellerDto(book, sold.get(book.getId())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public BookPageDto filterByCategories(Set<Long> all, Set<Long> any, Set<Long> none,
+                                          Pageable pageable) {
+        RoaringBitmap books = categoryBitmapIndex.filter(all, any, none);
+        BookPageDto page = new BookPageDto();
+        page.setTotalElements(books.getLongCardinality());
+        page.setBooks(pageable.getOffset() >= books.getLongCardinality() ? new ArrayList<>()
+                : findAllByIds(categoryBitmapIndex.page(books, (int) pageable.getOffset(),
+                        pageable.getPageSize())));
+        return page;
+    }
+
+    @Override
+    @CacheEvict(value = CacheConfig.BOOKS_CACHE, key = "#id")
     public BookDto update(Long id, CreateBookRequestDto bookRequestDto) {
-        bookRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(
-                "Can't update the book. Book with id " + id + " not found."));
+        Book existingBook = bookRepository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException(
+                        "Can't update the book. Book with id " + id + " not found."));
         Book book = bookMapper.toModel(bookRequestDto);
         book.setId(id);
+        book.setVersion(existingBook.getVersion() + 1);
         setCategories(bookRequestDto, book);
-        return bookMapper.toDto(bookRepository.save(book));
+        BookDto updatedBook = bookMapper.toDto(bookRepository.save(book));
+        eventPublisher.publishEvent(new BookSavedEvent(updatedBook));
+        return updatedBook;
     }
 
     @Override
+    @CacheEvict(value = CacheConfig.BOOKS_CACHE, key = "#id")
+    public BookDto updateCoverImage(Long id, String coverImage) {
+        Book book = bookRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(
+                "Can't update the book. Book with id " + id + " not found."));
+        book.setCoverImage(coverImage);
+        book.setVersion(book.getVersion() + 1);
+        BookDto updatedBook = bookMapper.toDto(bookRepository.save(book));
+        eventPublisher.publishEvent(new BookSavedEvent(updatedBook));
+        return updatedBook;
+    }
+
+    @Override
+    @CacheEvict(value = CacheConfig.BOOKS_CACHE, key = "#id")
     public void delete(Long id) {
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(new BookDeletedEvent(id));
     }
 
     @Override
     public List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId) {
-        return bookRepository.findAllByCategories_Id(categoryId).stream()
+        return bookRepository.findAllViewsByCategoryId(categoryId).stream()
                 .map(bookMapper::toDtoWithoutCategories)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<BookDtoWithoutCategoryIds> findAllByCategorySubtree(Long categoryId) {
+        return bookRepository.findAllViewsByCategorySubtree(categoryId).stream()
+                .map(bookMapper::toDtoWithoutCategories)
+                .collect(Collectors.toList());
+    }
+
+    private List<BookDto> toDtos(List<BookView> views) {
+        if (views.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> ids = views.stream()
+                .map(BookView::getId)
+                .collect(Collectors.toList());
+        return bookMapper.toDtos(views, bookRepository.findCategoryIdsByBookIdIn(ids));
+    }
+
+    private String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_CURSOR_ID;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor " + cursor);
+        }
+    }
+
     private void setCategories(CreateBookRequestDto bookDto, Book book) {
         book.setCategories(bookDto.getCategoryIds().stream()
                 .map(categoryRepository::findById)
@@ -0,0 +1,39 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.dto.CacheStatsDto;
+import com.example.bookstore.service.CacheStatsService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsServiceImpl implements CacheStatsService {
+    private final CacheManager cacheManager;
+
+    @Override
+    public List<CacheStatsDto> getAll() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private CacheStatsDto toDto(CaffeineCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        CacheStatsDto statsDto = new CacheStatsDto();
+        statsDto.setName(cache.getName());
+        statsDto.setSize(cache.getNativeCache().estimatedSize());
+        statsDto.setHitCount(stats.hitCount());
+        statsDto.setMissCount(stats.missCount());
+        statsDto.setEvictionCount(stats.evictionCount());
+        statsDto.setHitRate(stats.hitRate());
+        return statsDto;
+    }
+}
@@ -1,30 +1,48 @@
 package com.example.bookstore.service.impl;
 
+import com.example.bookstore.cache.CategorySnapshot;
+import com.example.bookstore.config.CacheConfig;
 import com.example.bookstore.dto.CategoryRequestDto;
 import com.example.bookstore.dto.CategoryResponseDto;
+import com.example.bookstore.dto.CategoryTreeDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.event.CategoryDeletedEvent;
+import com.example.bookstore.event.CategorySavedEvent;
 import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.exception.InvalidRequestException;
 import com.example.bookstore.mapper.CategoryMapper;
 import com.example.bookstore.model.Category;
+import com.example.bookstore.repository.CategoryClosureRepository;
 import com.example.bookstore.repository.CategoryRepository;
+import com.example.bookstore.repository.ResourceVersionRepository;
 import com.example.bookstore.service.CategoryService;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
     private final CategoryMapper categoryMapper;
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final CategorySnapshot categorySnapshot;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<CategoryResponseDto> findAll(Pageable pageable) {
-        return categoryRepository.findAll()
-                .stream()
-                .map(categoryMapper::toDto)
-                .collect(Collectors.toList());
+        return categorySnapshot.findAll(pageable);
+    }
+
+    @Override
+    public byte[] findAllAsJson() {
+        return categorySnapshot.findAllAsJson();
     }
 
     @Override
@@ -35,21 +53,81 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    public ResourceVersionDto getVersionById(Long id) {
+        return resourceVersionRepository.findCategoryVersion(id).orElseThrow(() ->
+                new EntityNotFoundException("Category with id " + id + " not found"));
+    }
+
+    @Override
+    public ResourceVersionDto getAllVersion() {
+        return categorySnapshot.getVersion();
+    }
+
+    @Override
+    public List<CategoryTreeDto> getTree() {
+        return categorySnapshot.getTree();
+    }
+
+    @Override
+    public List<CategoryResponseDto> getBreadcrumbs(Long id) {
+        List<CategoryResponseDto> path = categorySnapshot.getPath(id);
+        if (path.isEmpty()) {
+            throw new EntityNotFoundException("Category with id " + id + " not found");
+        }
+        return path;
+    }
+
+    @Override
+    @Transactional
     public CategoryResponseDto save(CategoryRequestDto categoryDto) {
-        return categoryMapper.toDto(categoryRepository.save(categoryMapper.toModel(categoryDto)));
+        checkParentExists(categoryDto.getParentId());
+        Category category = categoryRepository.save(categoryMapper.toModel(categoryDto));
+        categoryClosureRepository.insert(category.getId(), category.getParentId());
+        CategoryResponseDto savedCategory = categoryMapper.toDto(category);
+        eventPublisher.publishEvent(new CategorySavedEvent(savedCategory));
+        return savedCategory;
     }
 
     @Override
+    @Transactional
     public CategoryResponseDto update(Long id, CategoryRequestDto categoryDto) {
-        categoryRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(
-                "Can't update the category. Category with id " + id + " not found."));
+        categoryClosureRepository.lockWithAncestors(id, categoryDto.getParentId());
+        Category existingCategory = categoryRepository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException(
+                        "Can't update the category. Category with id " + id + " not found."));
         Category category = categoryMapper.toModel(categoryDto);
         category.setId(id);
-        return categoryMapper.toDto(categoryRepository.save(category));
+        category.setVersion(existingCategory.getVersion() + 1);
+        if (!Objects.equals(category.getParentId(), existingCategory.getParentId())) {
+            checkParentExists(category.getParentId());
+            if (category.getParentId() != null
+                    && categoryClosureRepository.isInSubtree(category.getParentId(), id)) {
+                throw new InvalidRequestException("Can't move category " + id
+                        + " under its own subcategory " + category.getParentId());
+            }
+            categoryClosureRepository.move(id, category.getParentId());
+        }
+        CategoryResponseDto updatedCategory = categoryMapper.toDto(
+                categoryRepository.save(category));
+        eventPublisher.publishEvent(new CategorySavedEvent(updatedCategory));
+        return updatedCategory;
     }
 
     @Override
+    @CacheEvict(value = CacheConfig.BOOKS_CACHE, allEntries = true)
     public void deleteById(Long id) {
+        if (categoryRepository.existsByParentId(id)) {
+            throw new InvalidRequestException(
+                    "Can't delete category " + id + " while it has subcategories");
+        }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryDeletedEvent(id));
+    }
+
+    private void checkParentExists(Long parentId) {
+        if (parentId != null && !categoryRepository.existsById(parentId)) {
+            throw new EntityNotFoundException("Parent category with id " + parentId
+                    + " not found");
+        }
     }
 }
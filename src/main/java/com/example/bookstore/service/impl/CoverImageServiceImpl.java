@@ -0,0 +1,33 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.dto.CoverImageDto;
+import com.example.bookstore.service.BookService;
+import com.example.bookstore.service.CoverImageService;
+import com.example.bookstore.storage.CoverImageStore;
+import com.example.bookstore.storage.StoredCoverImage;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CoverImageServiceImpl implements CoverImageService {
+    private static final String COVERS_PATH = "/api/covers/";
+    private final CoverImageStore coverImageStore;
+    private final BookService bookService;
+
+    @Override
+    public CoverImageDto upload(Long bookId, InputStream inputStream) {
+        bookService.getVersionById(bookId);
+        StoredCoverImage image = coverImageStore.store(inputStream);
+        Map<Integer, String> thumbnails = new LinkedHashMap<>();
+        image.getThumbnails().forEach((width, name) -> thumbnails.put(width, COVERS_PATH + name));
+        CoverImageDto coverImage = new CoverImageDto();
+        coverImage.setUrl(COVERS_PATH + image.getName());
+        coverImage.setThumbnails(thumbnails);
+        bookService.updateCoverImage(bookId, coverImage.getUrl());
+        return coverImage;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.checkout.CheckoutOutcome;
+import com.example.bookstore.checkout.CheckoutQueue;
+import com.example.bookstore.checkout.CheckoutRequest;
+import com.example.bookstore.dto.CreateOrderRequestDto;
+import com.example.bookstore.dto.OrderRequestStatusDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.model.User;
+import com.example.bookstore.repository.OrderRepository;
+import com.example.bookstore.service.OrderRequestService;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class OrderRequestServiceImpl implements OrderRequestService {
+    private final CheckoutQueue checkoutQueue;
+    private final OrderRepository orderRepository;
+
+    @Override
+    public OrderRequestStatusDto submit(User user, CreateOrderRequestDto requestDto) {
+        CheckoutRequest request = checkoutQueue.submit(user.getId(),
+                requestDto.getShippingAddress());
+        return toDto(request.getRequestId(), OrderRequestStatusDto.Status.QUEUED, null, null);
+    }
+
+    @Override
+    public OrderRequestStatusDto getStatus(User user, String requestId) {
+        if (checkoutQueue.findQueued(requestId)
+                .filter(request -> request.getUserId().equals(user.getId()))
+                .isPresent()) {
+            return toDto(requestId, OrderRequestStatusDto.Status.QUEUED, null, null);
+        }
+        Optional<CheckoutOutcome> failed = checkoutQueue.findFailed(requestId)
+                .filter(outcome -> outcome.getUserId().equals(user.getId()));
+        if (failed.isPresent()) {
+            return toDto(requestId, OrderRequestStatusDto.Status.FAILED, null,
+                    failed.get().getMessage());
+        }
+        return orderRepository.findIdByRequestIdAndUserId(requestId, user.getId())
+                .map(orderId -> toDto(requestId, OrderRequestStatusDto.Status.COMPLETED,
+                        orderId, null))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Order request with id " + requestId + " not found"));
+    }
+
+    private OrderRequestStatusDto toDto(String requestId, OrderRequestStatusDto.Status status,
+                                        Long orderId, String message) {
+        OrderRequestStatusDto statusDto = new OrderRequestStatusDto();
+        statusDto.setRequestId(requestId);
+        statusDto.setStatus(status);
+        statusDto.setOrderId(orderId);
+        statusDto.setMessage(message);
+        return statusDto;
+    }
+}
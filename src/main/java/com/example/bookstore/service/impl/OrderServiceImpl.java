@@ -1,103 +1,251 @@
 package com.example.bookstore.service.impl;
 
+import com.example.bookstore.cart.CartStore;
+import com.example.bookstore.dto.BulkUpdateOrderStatusReportDto;
+import com.example.bookstore.dto.BulkUpdateOrderStatusRequestDto;
 import com.example.bookstore.dto.CreateOrderRequestDto;
 import com.example.bookstore.dto.OrderItemResponseDto;
 import com.example.bookstore.dto.OrderResponseDto;
+import com.example.bookstore.dto.OrderSummaryDto;
 import com.example.bookstore.dto.UpdateOrderRequestDto;
+import com.example.bookstore.event.OrderCreatedEvent;
 import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.exception.InvalidRequestException;
 import com.example.bookstore.mapper.OrderItemMapper;
 import com.example.bookstore.mapper.OrderMapper;
+import com.example.bookstore.model.Book;
 import com.example.bookstore.model.Order;
 import com.example.bookstore.model.OrderItem;
-import com.example.bookstore.model.ShoppingCart;
 import com.example.bookstore.model.User;
-import com.example.bookstore.repository.CartItemRepository;
+import com.example.bookstore.repository.CartItemJdbcRepository;
+import com.example.bookstore.repository.OrderItemJdbcRepository;
 import com.example.bookstore.repository.OrderItemRepository;
+import com.example.bookstore.repository.OrderJdbcRepository;
 import com.example.bookstore.repository.OrderRepository;
-import com.example.bookstore.repository.ShoppingCartRepository;
+import com.example.bookstore.repository.OrderSummaryJdbcRepository;
+import com.example.bookstore.repository.projection.OrderItemView;
+import com.example.bookstore.repository.projection.OrderView;
 import com.example.bookstore.service.OrderService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
-    private final ShoppingCartRepository cartRepository;
+    private static final int STATUS_UPDATE_CHUNK_SIZE = 1000;
     private final OrderRepository orderRepository;
-    private final CartItemRepository cartItemRepository;
+    private final OrderJdbcRepository orderJdbcRepository;
+    private final CartItemJdbcRepository cartItemJdbcRepository;
+    private final OrderItemJdbcRepository orderItemJdbcRepository;
     private final OrderItemRepository orderItemRepository;
+    private final OrderSummaryJdbcRepository orderSummaryJdbcRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CartStore cartStore;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public OrderResponseDto createOrder(User user, CreateOrderRequestDto requestDto) {
-        Order order = new Order();
-        order.setOrderDate(LocalDateTime.now());
-        order.setStatus(Order.Status.PENDING);
-        order.setUser(user);
-        order.setShippingAddress(requestDto.getShippingAddress());
-        ShoppingCart shoppingCart = cartRepository.findByUser_Id(user.getId()).orElseThrow();
-        Set<OrderItem> orderItems = shoppingCart.getCartItems().stream()
-                .map(cartItem -> {
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setBook(cartItem.getBook());
-                    orderItem.setPrice(cartItem.getBook().getPrice());
-                    orderItem.setQuantity(cartItem.getQuantity());
-                    orderItem.setOrder(order);
-                    return orderItem;
-                })
-                .collect(Collectors.toSet());
-        order.setOrderItems(orderItems);
-        order.setTotal(orderItems.stream()
-                        .map(i -> i.getPrice().multiply(BigDecimal.valueOf(i.getQuantity())))
-                        .reduce(BigDecimal.ZERO, BigDecimal::add));
-        orderRepository.save(order);
-        orderItemRepository.saveAll(orderItems);
-        cartItemRepository.deleteAll(shoppingCart.getCartItems());
-        return orderMapper.toDto(order);
+        return cartStore.checkout(user.getId(), () -> transactionTemplate.execute(status ->
+                placeOrder(user, requestDto, null)));
     }
 
     @Override
-    public List<OrderResponseDto> getAllOrders(User user) {
-        return orderRepository.findByUserId(user.getId()).stream()
-                .map(orderMapper::toDto)
+    public Long createQueuedOrder(User user, CreateOrderRequestDto requestDto,
+                                  String requestId) {
+        return orderRepository.findIdByRequestId(requestId).orElseGet(() ->
+                cartStore.checkout(user.getId(), () -> transactionTemplate.execute(status ->
+                        placeOrder(user, requestDto, requestId).getId())));
+    }
+
+    @Override
+    public List<OrderResponseDto> getAllOrders(User user, Pageable pageable) {
+        List<OrderView> orders = orderRepository.findAllViewsByUserId(user.getId(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        if (orders.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Set<OrderItemResponseDto>> itemsByOrderId = orderItemRepository
+                .findAllViewsByOrderIdIn(orders.stream().map(OrderView::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemView::getOrderId,
+                        Collectors.mapping(orderItemMapper::toDto, Collectors.toSet())));
+        return orders.stream()
+                .map(view -> {
+                    OrderResponseDto orderDto = orderMapper.toDto(view);
+                    orderDto.setOrderItems(itemsByOrderId.getOrDefault(view.getId(),
+                            new HashSet<>()));
+                    return orderDto;
+                })
                 .toList();
     }
 
     @Override
+    @Transactional
     public void updateStatus(Long orderId, UpdateOrderRequestDto requestDto) {
         Order order = orderRepository.findById(orderId).orElseThrow(() ->
                 new EntityNotFoundException("Order with id " + orderId + " not found"));
         order.setStatus(requestDto.getStatus());
         orderRepository.save(order);
+        orderSummaryJdbcRepository.updateStatus(orderId, requestDto.getStatus());
+    }
+
+    @Override
+    public BulkUpdateOrderStatusReportDto updateStatuses(
+            BulkUpdateOrderStatusRequestDto requestDto) {
+        Order.Status status = requestDto.getStatus();
+        List<Order.Status> currentStatuses = Arrays.stream(Order.Status.values())
+                .filter(current -> current.canMoveTo(status))
+                .filter(current -> requestDto.getCurrentStatus() == null
+                        || current == requestDto.getCurrentStatus())
+                .toList();
+        if (currentStatuses.isEmpty()) {
+            throw new InvalidRequestException("Can't move orders from "
+                    + (requestDto.getCurrentStatus() == null ? "any status"
+                    : requestDto.getCurrentStatus()) + " to " + status);
+        }
+        boolean byIds = requestDto.getOrderIds() != null && !requestDto.getOrderIds().isEmpty();
+        boolean byOrderDate = requestDto.getOrderDateFrom() != null
+                && requestDto.getOrderDateTo() != null;
+        if (byIds == byOrderDate) {
+            throw new InvalidRequestException(
+                    "Either order ids or an order date range must be given");
+        }
+        if (byOrderDate && !requestDto.getOrderDateFrom().isBefore(requestDto.getOrderDateTo())) {
+            throw new InvalidRequestException("Order date range must end after it starts");
+        }
+        return byIds
+                ? updateStatusesByIds(requestDto.getOrderIds(), currentStatuses, status)
+                : updateStatusesByOrderDate(requestDto, currentStatuses, status);
     }
 
     @Override
     public Set<OrderItemResponseDto> getAllItems(User user, Long orderId) {
-        OrderResponseDto order = getUsersOrderById(user, orderId);
-        return order.getOrderItems();
+        List<OrderItemView> items = orderItemRepository.findAllViewsByOrderIdAndUserId(orderId,
+                user.getId());
+        if (items.isEmpty()) {
+            throw new EntityNotFoundException("Order with id " + orderId + " not found");
+        }
+        return items.stream()
+                .filter(item -> item.getId() != null)
+                .map(orderItemMapper::toDto)
+                .collect(Collectors.toSet());
     }
 
     @Override
     public OrderItemResponseDto getItem(User user, Long orderId, Long itemId) {
-        OrderResponseDto order = getUsersOrderById(user, orderId);
-        return order.getOrderItems().stream()
-                .filter(i -> i.getId().equals(itemId))
-                .findAny()
+        return orderItemMapper.toDto(orderItemRepository
+                .findViewByIdAndOrderIdAndUserId(itemId, orderId, user.getId())
                 .orElseThrow(() -> new EntityNotFoundException(
-                        "Order item with id " + itemId + " not found"));
+                        "Order item with id " + itemId + " not found")));
     }
 
-    private OrderResponseDto getUsersOrderById(User user, Long orderId) {
-        return getAllOrders(user).stream()
-                .filter(i -> i.getId().equals(orderId))
-                .findAny()
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Order with id " + orderId + " not found"));
+    private OrderResponseDto placeOrder(User user, CreateOrderRequestDto requestDto,
+                                        String requestId) {
+        Order order = new Order();
+        List<OrderItem> orderItems = new ArrayList<>();
+        Long cartId = cartItemJdbcRepository.lockCheckoutItems(user.getId(),
+                (bookId, quantity, price, title) -> {
+                    Book book = new Book();
+                    book.setId(bookId);
+                    book.setTitle(title);
+                    OrderItem orderItem = new OrderItem();
+                    orderItem.setBook(book);
+                    orderItem.setPrice(price);
+                    orderItem.setQuantity(quantity);
+                    orderItem.setOrder(order);
+                    orderItems.add(orderItem);
+                });
+        if (cartId == null) {
+            throw new EntityNotFoundException("Shopping cart not found.");
+        }
+        if (orderItems.isEmpty()) {
+            throw new InvalidRequestException("Can't create an order from an empty cart");
+        }
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(Order.Status.PENDING);
+        order.setUser(user);
+        order.setShippingAddress(requestDto.getShippingAddress());
+        order.setRequestId(requestId);
+        order.setTotal(orderItems.stream()
+                .map(i -> i.getPrice().multiply(BigDecimal.valueOf(i.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        orderRepository.save(order);
+        orderItemJdbcRepository.insertAll(order.getId(), orderItems);
+        orderSummaryJdbcRepository.insert(toSummary(order, orderItems));
+        cartItemJdbcRepository.deleteAllByCartId(cartId);
+        eventPublisher.publishEvent(new OrderCreatedEvent(order.getId(), order.getOrderDate(),
+                orderItems.stream().collect(Collectors.toMap(
+                        orderItem -> orderItem.getBook().getId(), OrderItem::getQuantity,
+                        Integer::sum))));
+        OrderResponseDto orderDto = orderMapper.toDto(order);
+        orderDto.setOrderItems(orderItems.stream()
+                .map(orderItemMapper::toDto)
+                .collect(Collectors.toSet()));
+        return orderDto;
+    }
+
+    private BulkUpdateOrderStatusReportDto updateStatusesByIds(List<Long> orderIds,
+                                                               List<Order.Status> currentStatuses,
+                                                               Order.Status status) {
+        List<Long> ids = orderIds.stream()
+                .distinct()
+                .toList();
+        long existing = 0;
+        long updated = 0;
+        for (int from = 0; from < ids.size(); from += STATUS_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from,
+                    Math.min(from + STATUS_UPDATE_CHUNK_SIZE, ids.size()));
+            existing += orderJdbcRepository.countExisting(chunk);
+            updated += orderJdbcRepository.updateStatuses(chunk, currentStatuses, status);
+        }
+        return new BulkUpdateOrderStatusReportDto(updated, existing - updated,
+                ids.size() - existing);
+    }
+
+    private BulkUpdateOrderStatusReportDto updateStatusesByOrderDate(
+            BulkUpdateOrderStatusRequestDto requestDto, List<Order.Status> currentStatuses,
+            Order.Status status) {
+        long matched = 0;
+        long updated = 0;
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            chunk = orderJdbcRepository.findIdsByOrderDate(requestDto.getOrderDateFrom(),
+                    requestDto.getOrderDateTo(), afterId, STATUS_UPDATE_CHUNK_SIZE);
+            if (!chunk.isEmpty()) {
+                matched += chunk.size();
+                updated += orderJdbcRepository.updateStatuses(chunk, currentStatuses, status);
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == STATUS_UPDATE_CHUNK_SIZE);
+        return new BulkUpdateOrderStatusReportDto(updated, matched - updated, 0);
+    }
+
+    private OrderSummaryDto toSummary(Order order, List<OrderItem> orderItems) {
+        OrderSummaryDto summary = new OrderSummaryDto();
+        summary.setOrderId(order.getId());
+        summary.setUserId(order.getUser().getId());
+        summary.setOrderDate(order.getOrderDate());
+        summary.setStatus(order.getStatus());
+        summary.setTotal(order.getTotal());
+        summary.setItemCount(orderItems.stream().mapToInt(OrderItem::getQuantity).sum());
+        summary.setFirstBookTitle(orderItems.get(0).getBook().getTitle());
+        return summary;
     }
 }
@@ -0,0 +1,77 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.dto.OrderSummaryDto;
+import com.example.bookstore.dto.OrderSummaryRebuildReportDto;
+import com.example.bookstore.model.User;
+import com.example.bookstore.repository.OrderSummaryJdbcRepository;
+import com.example.bookstore.service.OrderSummaryService;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+    private static final long ORDERS_PER_CHUNK = 10_000;
+    private static final int REBUILD_THREADS = 4;
+    private final OrderSummaryJdbcRepository orderSummaryJdbcRepository;
+
+    @Override
+    public List<OrderSummaryDto> findAllByUser(User user, Pageable pageable) {
+        return orderSummaryJdbcRepository.findAllByUserId(user.getId(),
+                pageable.getPageSize(), pageable.getOffset());
+    }
+
+    @Override
+    public List<OrderSummaryDto> findAll(Pageable pageable) {
+        return orderSummaryJdbcRepository.findAll(pageable.getPageSize(), pageable.getOffset());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (orderSummaryJdbcRepository.count() == 0
+                && orderSummaryJdbcRepository.findMaxOrderId() > 0) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public OrderSummaryRebuildReportDto rebuild() {
+        long start = System.currentTimeMillis();
+        long maxOrderId = orderSummaryJdbcRepository.findMaxOrderId();
+        ExecutorService executor = Executors.newFixedThreadPool(REBUILD_THREADS);
+        try {
+            CompletionService<Void> chunks = new ExecutorCompletionService<>(executor);
+            int submitted = 0;
+            for (long after = 0; after < maxOrderId; after += ORDERS_PER_CHUNK) {
+                long from = after;
+                long to = Math.min(after + ORDERS_PER_CHUNK, maxOrderId);
+                chunks.submit(() -> {
+                    orderSummaryJdbcRepository.rebuild(from, to);
+                    return null;
+                });
+                submitted++;
+            }
+            for (int i = 0; i < submitted; i++) {
+                chunks.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding order summaries", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Can't rebuild order summaries", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new OrderSummaryRebuildReportDto(orderSummaryJdbcRepository.count(),
+                System.currentTimeMillis() - start);
+    }
+}
@@ -1,18 +1,20 @@
 package com.example.bookstore.service.impl;
 
+import com.example.bookstore.cart.CartStore;
+import com.example.bookstore.dto.CartBatchRequestDto;
+import com.example.bookstore.dto.CartBatchResponseDto;
 import com.example.bookstore.dto.CartItemRequestDto;
 import com.example.bookstore.dto.ShoppingCartResponseDto;
 import com.example.bookstore.dto.UpdateQuantityRequestDto;
 import com.example.bookstore.exception.EntityNotFoundException;
 import com.example.bookstore.mapper.CartItemMapper;
-import com.example.bookstore.mapper.ShoppingCartMapper;
-import com.example.bookstore.model.CartItem;
 import com.example.bookstore.model.ShoppingCart;
 import com.example.bookstore.model.User;
-import com.example.bookstore.repository.CartItemRepository;
 import com.example.bookstore.repository.ShoppingCartRepository;
+import com.example.bookstore.repository.projection.CartItemView;
 import com.example.bookstore.service.ShoppingCartService;
-import java.util.Optional;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -20,24 +22,13 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final ShoppingCartRepository shoppingCartRepository;
-    private final CartItemRepository cartItemRepository;
     private final CartItemMapper cartItemMapper;
-    private final ShoppingCartMapper shoppingCartMapper;
+    private final CartStore cartStore;
 
     @Override
     public void addToCart(User user, CartItemRequestDto cartItemRequestDto) {
-        ShoppingCart cart = shoppingCartRepository.findByUser_Id(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found."));
-        Optional<CartItem> cartItem = cartItemRepository
-                .findByBookId(cartItemRequestDto.getBookId());
-        if (cartItem.isPresent()) {
-            cartItem.get().setQuantity(cartItemRequestDto.getQuantity());
-        } else {
-            CartItem item = cartItemMapper.toModel(cartItemRequestDto);
-            item.setShoppingCart(cart);
-            cartItemRepository.save(item);
-        }
-        shoppingCartRepository.save(cart);
+        cartStore.add(user.getId(), cartItemRequestDto.getBookId(),
+                cartItemRequestDto.getQuantity());
     }
 
     @Override
@@ -49,30 +40,36 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
 
     @Override
     public ShoppingCartResponseDto getByUserId(Long id) {
-        return shoppingCartMapper.toDto(shoppingCartRepository.findByUser_Id(id)
-                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found.")));
+        cartStore.flush(id);
+        List<CartItemView> items = shoppingCartRepository.findAllItemViewsByUserId(id);
+        if (items.isEmpty()) {
+            throw new EntityNotFoundException("Shopping cart not found.");
+        }
+        ShoppingCartResponseDto cart = new ShoppingCartResponseDto();
+        cart.setId(items.get(0).getCartId());
+        cart.setUserId(id);
+        cart.setCartItems(items.stream()
+                .filter(item -> item.getId() != null)
+                .map(cartItemMapper::toDto)
+                .collect(Collectors.toSet()));
+        return cart;
     }
 
     @Override
     public void updateQuantity(User user, Long cartItemId, UpdateQuantityRequestDto requestDto) {
-        ShoppingCart cart = shoppingCartRepository.findByUser_Id(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found."));
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Cart item with id " + cartItemId + " not found."));
-        cartItem.setQuantity(requestDto.getQuantity());
-        cartItemRepository.save(cartItem);
-        shoppingCartRepository.save(cart);
+        cartStore.updateQuantity(user.getId(), cartItemId, requestDto.getQuantity());
     }
 
     @Override
     public void delete(User user, Long cartItemId) {
-        ShoppingCart cart = shoppingCartRepository.findByUser_Id(user.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Shopping cart not found."));
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Cart item with id " + cartItemId + " not found."));
-        cartItemRepository.delete(cartItem);
-        shoppingCartRepository.save(cart);
+        cartStore.remove(user.getId(), cartItemId);
+    }
+
+    @Override
+    public CartBatchResponseDto applyOperations(User user, CartBatchRequestDto requestDto) {
+        CartBatchResponseDto response = new CartBatchResponseDto();
+        response.setResults(cartStore.apply(user.getId(), requestDto.getOperations()));
+        response.setCart(getByUserId(user.getId()));
+        return response;
     }
 }
@@ -0,0 +1,225 @@
+package com.example.bookstore.storage;
+
+import com.example.bookstore.exception.InvalidRequestException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed cover images on local disk. Files are named after the SHA-256 of the
+ * uploaded bytes, so a name never changes content and thumbnails are rendered once.
+ */
+@Component
+public class CoverImageStore {
+    public static final List<Integer> THUMBNAIL_WIDTHS = List.of(120, 240, 480);
+    private static final long MAX_IMAGE_SIZE = 10 * 1024 * 1024;
+    private static final long MAX_IMAGE_PIXELS = 25_000_000;
+    private static final Map<String, String> EXTENSIONS = Map.of("jpeg", "jpg", "png", "png");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png");
+    private static final Pattern NAME =
+            Pattern.compile("([0-9a-f]{64})(?:_(\\d+))?\\.(jpg|png)");
+    private static final int HASH_PREFIX_LENGTH = 2;
+    private final Path directory;
+
+    public CoverImageStore(@Value("${bookstore.covers.directory:covers}") String directory) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't create cover directory " + directory, e);
+        }
+    }
+
+    public StoredCoverImage store(InputStream inputStream) {
+        Path upload = null;
+        try {
+            upload = Files.createTempFile(directory, "upload", ".tmp");
+            String hash = copy(inputStream, upload);
+            String extension = detectExtension(upload);
+            BufferedImage image = readImage(upload);
+            String name = hash + "." + extension;
+            moveIfAbsent(upload, resolvePath(name));
+            Map<Integer, String> thumbnails = new LinkedHashMap<>();
+            for (Integer width : THUMBNAIL_WIDTHS) {
+                if (width < image.getWidth()) {
+                    String thumbnailName = hash + "_" + width + "." + extension;
+                    writeThumbnailIfAbsent(image, width, extension, resolvePath(thumbnailName));
+                    thumbnails.put(width, thumbnailName);
+                }
+            }
+            return new StoredCoverImage(name, thumbnails);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't store the cover image", e);
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+
+    public Optional<Path> find(String name) {
+        if (!NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path path = resolvePath(name);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public String getContentType(String name) {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches()) {
+            throw new InvalidRequestException("Invalid cover image name " + name);
+        }
+        return CONTENT_TYPES.get(matcher.group(3));
+    }
+
+    private String copy(InputStream inputStream, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        try (OutputStream output = new DigestOutputStream(Files.newOutputStream(target),
+                digest)) {
+            byte[] buffer = new byte[8192];
+            long size = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                size += read;
+                if (size > MAX_IMAGE_SIZE) {
+                    throw new InvalidRequestException("Cover image must not exceed "
+                            + MAX_IMAGE_SIZE + " bytes");
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String detectExtension(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            while (readers.hasNext()) {
+                String extension = EXTENSIONS.get(readers.next().getFormatName()
+                        .toLowerCase(Locale.ROOT));
+                if (extension != null) {
+                    return extension;
+                }
+            }
+        }
+        throw new InvalidRequestException("Cover image must be a JPEG or PNG image");
+    }
+
+    private BufferedImage readImage(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new InvalidRequestException("Cover image can't be decoded");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_IMAGE_PIXELS) {
+                    throw new InvalidRequestException("Cover image must not exceed "
+                            + MAX_IMAGE_PIXELS + " pixels");
+                }
+                return reader.read(0);
+            } catch (IIOException e) {
+                throw new InvalidRequestException("Cover image can't be decoded");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeThumbnailIfAbsent(BufferedImage image, int width, String extension,
+                                        Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        int height = Math.max(1, Math.round((float) image.getHeight() * width
+                / image.getWidth()));
+        BufferedImage thumbnail = new BufferedImage(width, height, "png".equals(extension)
+                ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING,
+                    RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        Path temp = Files.createTempFile(directory, "thumbnail", ".tmp");
+        try {
+            ImageIO.write(thumbnail, "png".equals(extension) ? "png" : "jpeg", temp.toFile());
+            moveIfAbsent(temp, target);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private void moveIfAbsent(Path source, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(source, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // another upload of the same content won the race
+            }
+        }
+    }
+
+    private Path resolvePath(String name) {
+        return directory.resolve(name.substring(0, HASH_PREFIX_LENGTH)).resolve(name);
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // temporary files are best effort
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.bookstore.storage;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredCoverImage {
+    private final String name;
+    private final Map<Integer, String> thumbnails;
+}
@@ -0,0 +1,71 @@
+package com.example.bookstore.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader implements Closeable {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    public CsvReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int read = reader.read();
+        if (read == -1) {
+            return null;
+        }
+        lineNumber++;
+        while (read != -1) {
+            char current = (char) read;
+            if (quoted) {
+                if (current == QUOTE) {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (current == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(current);
+                }
+            } else if (current == QUOTE && field.length() == 0) {
+                quoted = true;
+            } else if (current == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (current == '\n') {
+                break;
+            } else if (current != '\r') {
+                field.append(current);
+            }
+            read = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
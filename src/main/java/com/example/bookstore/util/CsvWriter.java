@@ -0,0 +1,51 @@
+package com.example.bookstore.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+public class CsvWriter implements Closeable, Flushable {
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeRecord(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writeField(fields.get(i));
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null || field.isEmpty()) {
+            return;
+        }
+        if (field.indexOf(SEPARATOR) < 0 && field.indexOf(QUOTE) < 0
+                && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            writer.write(field);
+            return;
+        }
+        writer.write(QUOTE);
+        writer.write(field.replace("\"", "\"\""));
+        writer.write(QUOTE);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.dto.CategoryResponseDto;
+import com.example.bookstore.dto.CategoryTreeDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.event.CategorySavedEvent;
+import com.example.bookstore.mapper.CategoryMapper;
+import com.example.bookstore.model.Category;
+import com.example.bookstore.repository.CategoryRepository;
+import com.example.bookstore.repository.ResourceVersionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class CategorySnapshotTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CategoryRepository categoryRepository;
+    private ResourceVersionRepository resourceVersionRepository;
+    private CategorySnapshot categorySnapshot;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = Mockito.mock(CategoryRepository.class);
+        resourceVersionRepository = Mockito.mock(ResourceVersionRepository.class);
+        CategoryMapper categoryMapper = Mockito.mock(CategoryMapper.class);
+        Mockito.when(categoryMapper.toDto(Mockito.any())).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            CategoryResponseDto dto = new CategoryResponseDto();
+            dto.setId(category.getId());
+            dto.setName(category.getName());
+            dto.setParentId(category.getParentId());
+            return dto;
+        });
+        givenCategories("1", 3);
+        categorySnapshot = new CategorySnapshot(categoryRepository, categoryMapper,
+                resourceVersionRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Verify pages are sliced from one load of all categories")
+    void findAll_Pages_SlicesSnapshot() {
+        Assertions.assertEquals(List.of(1L, 2L), ids(categorySnapshot.findAll(
+                PageRequest.of(0, 2))));
+        Assertions.assertEquals(List.of(3L), ids(categorySnapshot.findAll(
+                PageRequest.of(1, 2))));
+        Assertions.assertTrue(categorySnapshot.findAll(PageRequest.of(5, 2)).isEmpty());
+        Mockito.verify(categoryRepository, Mockito.times(1)).findAll(Mockito.any(Sort.class));
+    }
+
+    @Test
+    @DisplayName("Verify the list and its version are reloaded after a write only")
+    void findAllAsJson_AfterWrite_ReturnsFreshList() throws Exception {
+        Assertions.assertEquals(3, objectMapper.readValue(categorySnapshot.findAllAsJson(),
+                CategoryResponseDto[].class).length);
+        Assertions.assertEquals("1", categorySnapshot.getVersion().getEtag());
+
+        givenCategories("2", 4);
+        Assertions.assertEquals(3, objectMapper.readValue(categorySnapshot.findAllAsJson(),
+                CategoryResponseDto[].class).length);
+        Assertions.assertEquals("1", categorySnapshot.getVersion().getEtag());
+
+        categorySnapshot.onCategorySaved(new CategorySavedEvent(new CategoryResponseDto()));
+        Assertions.assertEquals(4, objectMapper.readValue(categorySnapshot.findAllAsJson(),
+                CategoryResponseDto[].class).length);
+        Assertions.assertEquals("2", categorySnapshot.getVersion().getEtag());
+        Mockito.verify(categoryRepository, Mockito.times(2)).findAll(Mockito.any(Sort.class));
+        Mockito.verify(resourceVersionRepository, Mockito.times(2)).findCategoriesVersion();
+    }
+
+    @Test
+    @DisplayName("Verify the tree and breadcrumbs are linked through parent ids")
+    void getTreeAndPath_NestedCategories_FollowParents() {
+        List<CategoryTreeDto> tree = categorySnapshot.getTree();
+
+        Assertions.assertEquals(1, tree.size());
+        Assertions.assertEquals(1L, tree.get(0).getId());
+        Assertions.assertEquals(2L, tree.get(0).getChildren().get(0).getId());
+        Assertions.assertEquals(3L, tree.get(0).getChildren().get(0).getChildren().get(0)
+                .getId());
+        Assertions.assertEquals(List.of(1L, 2L, 3L), ids(categorySnapshot.getPath(3L)));
+        Assertions.assertTrue(categorySnapshot.getPath(9L).isEmpty());
+    }
+
+    private void givenCategories(String etag, int count) {
+        Mockito.when(resourceVersionRepository.findCategoriesVersion())
+                .thenReturn(new ResourceVersionDto(etag, 0L));
+        Mockito.when(categoryRepository.findAll(Mockito.any(Sort.class))).thenReturn(
+                LongStream.rangeClosed(1, count)
+                        .mapToObj(id -> {
+                            Category category = new Category();
+                            category.setId(id);
+                            category.setName("Category " + id);
+                            category.setParentId(id > 1 ? id - 1 : null);
+                            return category;
+                        })
+                        .collect(Collectors.toList()));
+    }
+
+    private List<Long> ids(List<CategoryResponseDto> categories) {
+        return categories.stream()
+                .map(CategoryResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.dto.CartOperationRequestDto;
+import com.example.bookstore.dto.CartOperationResultDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemJdbcRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class WriteBehindCartStoreTest {
+    private static final Long USER_ID = 1L;
+    private static final Long CART_ID = 5L;
+    private static final Long ITEM_ID = 10L;
+    private final List<Map<Long, Integer>> savedQuantities = new ArrayList<>();
+    private final List<Set<Long>> removedBookIds = new ArrayList<>();
+    private CartItemJdbcRepository cartItemJdbcRepository;
+    private BookRepository bookRepository;
+    private WriteBehindCartStore cartStore;
+
+    @BeforeEach
+    void setUp() {
+        cartItemJdbcRepository = Mockito.mock(CartItemJdbcRepository.class);
+        Mockito.when(cartItemJdbcRepository.findCart(Mockito.eq(USER_ID), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    CartItemJdbcRepository.CartItemConsumer consumer = invocation.getArgument(1);
+                    consumer.accept(ITEM_ID, 1L, 2);
+                    return CART_ID;
+                });
+        Mockito.doAnswer(invocation -> {
+            Map<Long, Map<Long, Integer>> quantities = invocation.getArgument(0);
+            Map<Long, Set<Long>> removed = invocation.getArgument(1);
+            savedQuantities.add(new HashMap<>(quantities.get(CART_ID)));
+            removedBookIds.add(new HashSet<>(removed.get(CART_ID)));
+            return null;
+        }).when(cartItemJdbcRepository).saveCarts(Mockito.anyMap(), Mockito.anyMap());
+        bookRepository = Mockito.mock(BookRepository.class);
+        Mockito.when(bookRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(bookRepository.existsById(100L)).thenReturn(false);
+        cartStore = new WriteBehindCartStore(cartItemJdbcRepository, bookRepository);
+    }
+
+    @Test
+    @DisplayName("Verify repeated adds are merged in memory and written in one batch")
+    void flushAll_AfterAdds_WritesMergedQuantitiesOnce() {
+        cartStore.add(USER_ID, 1L, 1);
+        cartStore.add(USER_ID, 2L, 3);
+        cartStore.add(USER_ID, 2L, 1);
+        Mockito.verify(cartItemJdbcRepository, Mockito.never())
+                .saveCarts(Mockito.anyMap(), Mockito.anyMap());
+
+        cartStore.flushAll();
+        cartStore.flushAll();
+
+        Assertions.assertEquals(List.of(Map.of(1L, 3, 2L, 4)), savedQuantities);
+        Mockito.verify(cartItemJdbcRepository, Mockito.times(1)).findCart(
+                Mockito.eq(USER_ID), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Verify removed items are deleted and updated items keep their new quantity")
+    void flush_AfterUpdateAndRemove_WritesCartState() {
+        cartStore.add(USER_ID, 2L, 1);
+        cartStore.updateQuantity(USER_ID, ITEM_ID, 7);
+        cartStore.flush(USER_ID);
+        cartStore.remove(USER_ID, ITEM_ID);
+        cartStore.flush(USER_ID);
+
+        Assertions.assertEquals(List.of(Map.of(1L, 7, 2L, 1), Map.of()), savedQuantities);
+        Assertions.assertEquals(List.of(Set.of(), Set.of(1L)), removedBookIds);
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> cartStore.updateQuantity(USER_ID, ITEM_ID, 1));
+    }
+
+    @Test
+    @DisplayName("Verify a batch applies valid operations in order and reports the rest")
+    void apply_MixedOperations_AppliesInOrderAndReportsFailures() {
+        Mockito.when(bookRepository.findExistingIds(Mockito.anyCollection()))
+                .thenReturn(List.of(2L));
+        Mockito.when(cartItemJdbcRepository.findBookIdsByItemIds(CART_ID, Set.of(11L)))
+                .thenReturn(Map.of());
+
+        List<CartOperationResultDto> results = cartStore.apply(USER_ID, List.of(
+                operation(CartOperationRequestDto.Type.ADD, 2L, null, 2),
+                operation(CartOperationRequestDto.Type.ADD, 100L, null, 1),
+                operation(CartOperationRequestDto.Type.UPDATE, null, ITEM_ID, 5),
+                operation(CartOperationRequestDto.Type.REMOVE, null, 11L, 0),
+                operation(CartOperationRequestDto.Type.ADD, 2L, null, 1)));
+        cartStore.flushAll();
+
+        Assertions.assertEquals(List.of(true, false, true, false, true), results.stream()
+                .map(CartOperationResultDto::isApplied)
+                .toList());
+        Assertions.assertEquals("Book with id 100 not found.", results.get(1).getMessage());
+        Assertions.assertEquals(List.of(Map.of(1L, 5, 2L, 3)), savedQuantities);
+    }
+
+    @Test
+    @DisplayName("Verify checkout sees the flushed cart and the next change reloads it")
+    void checkout_DirtyCart_FlushesBeforeAndReloadsAfter() {
+        cartStore.add(USER_ID, 2L, 1);
+
+        String result = cartStore.checkout(USER_ID, () -> {
+            Assertions.assertEquals(1, savedQuantities.size());
+            return "order";
+        });
+        cartStore.add(USER_ID, 3L, 1);
+
+        Assertions.assertEquals("order", result);
+        Mockito.verify(cartItemJdbcRepository, Mockito.times(2)).findCart(
+                Mockito.eq(USER_ID), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Verify adding a missing book leaves the cart untouched")
+    void add_BookNotFound_ThrowsException() {
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> cartStore.add(USER_ID, 100L, 1));
+
+        cartStore.flushAll();
+
+        Assertions.assertTrue(savedQuantities.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify idle carts are dropped once clean and dirty carts are kept")
+    void evictIdle_CleanAndDirtyCarts_DropsCleanCartsOnly() {
+        cartStore.add(USER_ID, 2L, 1);
+        cartStore.evictIdle(Long.MAX_VALUE);
+        cartStore.flushAll();
+        cartStore.evictIdle(Long.MAX_VALUE);
+        cartStore.add(USER_ID, 3L, 1);
+        cartStore.flushAll();
+
+        Assertions.assertEquals(List.of(Map.of(2L, 1), Map.of(3L, 1)), savedQuantities);
+        Mockito.verify(cartItemJdbcRepository, Mockito.times(2)).findCart(
+                Mockito.eq(USER_ID), Mockito.any());
+    }
+
+    private CartOperationRequestDto operation(CartOperationRequestDto.Type type, Long bookId,
+                                              Long cartItemId, int quantity) {
+        CartOperationRequestDto operation = new CartOperationRequestDto();
+        operation.setType(type);
+        operation.setBookId(bookId);
+        operation.setCartItemId(cartItemId);
+        operation.setQuantity(quantity);
+        return operation;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.bookstore.checkout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckoutLogTest {
+    private static final int COMPLETED_ORDERS = 50_000;
+    private static final int MAX_FAILED_OUTCOMES = 2;
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Verify a reopened log keeps pending requests and failures only")
+    void open_AfterOutcomes_ReplaysPendingRequestsAndFailures() {
+        // Given
+        CheckoutLog checkoutLog = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+        checkoutLog.append(new CheckoutRequest("a", 1L, "Address A"));
+        checkoutLog.append(new CheckoutRequest("b", 2L, "Address B"));
+        checkoutLog.append(new CheckoutRequest("c", 3L, "Address C"));
+        checkoutLog.append(List.of(new CheckoutOutcome("a", 1L, 10L, null),
+                new CheckoutOutcome("b", 2L, null, "Can't create an order from an empty cart")));
+        checkoutLog.close();
+
+        // When
+        CheckoutLog reopened = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+
+        // Then
+        List<CheckoutRequest> pending = reopened.getPendingRequests();
+        Assertions.assertEquals(1, pending.size());
+        Assertions.assertEquals("c", pending.get(0).getRequestId());
+        Assertions.assertEquals(3L, pending.get(0).getUserId());
+        Assertions.assertEquals("Address C", pending.get(0).getShippingAddress());
+        Assertions.assertTrue(reopened.findFailed("a").isEmpty());
+        Assertions.assertEquals("Can't create an order from an empty cart",
+                reopened.findFailed("b").orElseThrow().getMessage());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Verify a grown log is compacted while open and keeps appending")
+    void compact_GrownLog_KeepsPendingRequestsAndFailures() throws IOException {
+        // Given
+        CheckoutLog checkoutLog = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+        checkoutLog.append(new CheckoutRequest("a", 1L, "Address A"));
+        checkoutLog.append(new CheckoutRequest("b", 2L, "Address B"));
+        checkoutLog.append(List.of(new CheckoutOutcome("b", 2L, null, "Book not found")));
+        checkoutLog.append(IntStream.range(0, COMPLETED_ORDERS)
+                .mapToObj(i -> new CheckoutOutcome("order-" + i, 3L, (long) i, null))
+                .toList());
+
+        // When
+        checkoutLog.compact();
+        checkoutLog.append(new CheckoutRequest("c", 3L, "Address C"));
+        checkoutLog.close();
+
+        // Then
+        Assertions.assertTrue(Files.size(directory.resolve("queue.log")) < COMPLETED_ORDERS);
+        CheckoutLog reopened = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+        Assertions.assertEquals(List.of("a", "c"), reopened.getPendingRequests().stream()
+                .map(CheckoutRequest::getRequestId)
+                .toList());
+        Assertions.assertTrue(reopened.findFailed("b").isPresent());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Verify a record torn by a crash is dropped and the log stays appendable")
+    void open_TornRecord_ReplaysIntactRecords() throws IOException {
+        // Given
+        CheckoutLog checkoutLog = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+        checkoutLog.append(new CheckoutRequest("a", 1L, "Address A"));
+        checkoutLog.close();
+        Files.write(directory.resolve("queue.log"), new byte[]{0, 0, 0, 42, 1, 2, 3},
+                StandardOpenOption.APPEND);
+
+        // When
+        CheckoutLog reopened = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+        reopened.append(new CheckoutRequest("b", 2L, "Address B"));
+        reopened.close();
+
+        // Then
+        CheckoutLog replayed = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+        Assertions.assertEquals(List.of("a", "b"), replayed.getPendingRequests().stream()
+                .map(CheckoutRequest::getRequestId)
+                .toList());
+        replayed.close();
+    }
+
+    @Test
+    @DisplayName("Verify only the most recent failures are kept, also across a reopen")
+    void append_ManyFailures_KeepsMostRecent() {
+        // Given
+        CheckoutLog checkoutLog = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+        checkoutLog.append(List.of(new CheckoutOutcome("a", 1L, null, "Book not found"),
+                new CheckoutOutcome("b", 1L, null, "Book not found"),
+                new CheckoutOutcome("c", 1L, null, "Book not found")));
+        checkoutLog.close();
+
+        // When
+        CheckoutLog reopened = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+
+        // Then
+        Assertions.assertTrue(reopened.findFailed("a").isEmpty());
+        Assertions.assertTrue(reopened.findFailed("b").isPresent());
+        Assertions.assertTrue(reopened.findFailed("c").isPresent());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Verify a directory can't be opened twice until the first log is closed")
+    void open_DirectoryInUse_ThrowsIllegalStateException() {
+        // Given
+        CheckoutLog checkoutLog = new CheckoutLog(directory, MAX_FAILED_OUTCOMES);
+
+        // When
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new CheckoutLog(directory, MAX_FAILED_OUTCOMES));
+        checkoutLog.close();
+
+        // Then
+        new CheckoutLog(directory, MAX_FAILED_OUTCOMES).close();
+    }
+}
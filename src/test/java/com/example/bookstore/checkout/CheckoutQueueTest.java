@@ -0,0 +1,116 @@
+package com.example.bookstore.checkout;
+
+import com.example.bookstore.dto.CreateOrderRequestDto;
+import com.example.bookstore.exception.InvalidRequestException;
+import com.example.bookstore.model.User;
+import com.example.bookstore.service.OrderService;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+class CheckoutQueueTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+    @TempDir
+    private Path directory;
+    private OrderService orderService;
+    private CheckoutQueue checkoutQueue;
+
+    @BeforeEach
+    void setUp() {
+        orderService = Mockito.mock(OrderService.class);
+        checkoutQueue = new CheckoutQueue(orderService, directory.toString(), 1, 10, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkoutQueue.stop();
+    }
+
+    @Test
+    @DisplayName("Verify queued requests are placed by workers and failures are kept")
+    void submit_WorkersRunning_PlacesOrders() throws InterruptedException {
+        // Given
+        Mockito.when(orderService.createQueuedOrder(Mockito.any(User.class),
+                Mockito.any(CreateOrderRequestDto.class), Mockito.anyString()))
+                .thenReturn(42L)
+                .thenThrow(new InvalidRequestException("Can't create an order from an empty "
+                        + "cart"));
+        CheckoutRequest placed = checkoutQueue.submit(1L, "Address");
+        Assertions.assertTrue(checkoutQueue.findQueued(placed.getRequestId()).isPresent());
+
+        // When
+        checkoutQueue.start();
+        CheckoutRequest failed = checkoutQueue.submit(1L, "Address");
+        awaitDrained(placed, failed);
+
+        // Then
+        Assertions.assertTrue(checkoutQueue.findFailed(placed.getRequestId()).isEmpty());
+        Assertions.assertEquals("Can't create an order from an empty cart",
+                checkoutQueue.findFailed(failed.getRequestId()).orElseThrow().getMessage());
+        Mockito.verify(orderService).createQueuedOrder(Mockito.argThat(user ->
+                        user.getId().equals(1L)),
+                Mockito.argThat(requestDto -> requestDto.getShippingAddress().equals("Address")),
+                Mockito.eq(placed.getRequestId()));
+    }
+
+    @Test
+    @DisplayName("Verify requests accepted before a restart are replayed with their ids")
+    void start_AfterRestart_ReplaysPendingRequests() throws InterruptedException {
+        // Given
+        Mockito.when(orderService.createQueuedOrder(Mockito.any(User.class),
+                Mockito.any(CreateOrderRequestDto.class), Mockito.anyString()))
+                .thenReturn(42L);
+        CheckoutRequest request = checkoutQueue.submit(1L, "Address");
+        checkoutQueue.stop();
+
+        // When
+        checkoutQueue = new CheckoutQueue(orderService, directory.toString(), 1, 10, 100);
+        Assertions.assertTrue(checkoutQueue.findQueued(request.getRequestId()).isPresent());
+        checkoutQueue.start();
+        awaitDrained(request);
+
+        // Then
+        Mockito.verify(orderService).createQueuedOrder(Mockito.any(User.class),
+                Mockito.any(CreateOrderRequestDto.class), Mockito.eq(request.getRequestId()));
+        checkoutQueue.stop();
+        checkoutQueue = new CheckoutQueue(orderService, directory.toString(), 1, 10, 100);
+        Assertions.assertTrue(checkoutQueue.findQueued(request.getRequestId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify a request that fails on a transient error stays queued and is retried")
+    void start_TransientFailure_RetriesRequest() throws InterruptedException {
+        // Given
+        Mockito.when(orderService.createQueuedOrder(Mockito.any(User.class),
+                Mockito.any(CreateOrderRequestDto.class), Mockito.anyString()))
+                .thenThrow(new IllegalStateException("Database is down"))
+                .thenReturn(42L);
+        CheckoutRequest request = checkoutQueue.submit(1L, "Address");
+
+        // When
+        checkoutQueue.start();
+        awaitDrained(request);
+
+        // Then
+        Assertions.assertTrue(checkoutQueue.findFailed(request.getRequestId()).isEmpty());
+        Mockito.verify(orderService, Mockito.times(2)).createQueuedOrder(
+                Mockito.any(User.class), Mockito.any(CreateOrderRequestDto.class),
+                Mockito.eq(request.getRequestId()));
+    }
+
+    private void awaitDrained(CheckoutRequest... requests) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        for (CheckoutRequest request : requests) {
+            while (checkoutQueue.findQueued(request.getRequestId()).isPresent()) {
+                Assertions.assertTrue(System.currentTimeMillis() < deadline,
+                        "Request " + request.getRequestId() + " wasn't placed in time");
+                Thread.sleep(10);
+            }
+        }
+    }
+}
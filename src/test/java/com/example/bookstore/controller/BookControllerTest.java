@@ -1,21 +1,28 @@
 package com.example.bookstore.controller;
 
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.bookstore.dto.BookDto;
+import com.example.bookstore.dto.BookImportReportDto;
 import com.example.bookstore.dto.CreateBookRequestDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -27,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -282,6 +290,45 @@ class BookControllerTest {
         EqualsBuilder.reflectionEquals(expected.get(1), actual[1]);
     }
 
+    @Test
+    @DisplayName("Verify a matching If-None-Match returns 304 until the book changes")
+    @WithMockUser(username = "admin", roles = {"ADMIN", "USER"})
+    @Sql(scripts = "classpath:database/books/create-test-books.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/categories/delete-all-test-books-categories.sql",
+            "classpath:database/books/delete-all-test-books.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getBookById_IfNoneMatch_NotModifiedUntilUpdated() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/api/books/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+
+        // When
+        mockMvc.perform(get("/api/books/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        CreateBookRequestDto requestDto = new CreateBookRequestDto();
+        requestDto.setTitle("Updated book");
+        requestDto.setAuthor("Test test");
+        requestDto.setIsbn("1111");
+        requestDto.setPrice(BigDecimal.TEN);
+        requestDto.setCategoryIds(Set.of(1L));
+        mockMvc.perform(put("/api/books/{id}", 1L)
+                        .content(objectMapper.writeValueAsString(requestDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/books/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("Verify get all books with unauthorized user results in HTTP 401 Unauthorized")
     public void getAllBooks_UnauthorizedAccess_Unauthorized() throws Exception {
@@ -330,6 +377,36 @@ class BookControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Verify books are looked up by isbn one at a time and in a batch")
+    @WithMockUser(username = "user", roles = {"USER"})
+    @Sql(scripts = "classpath:database/books/create-test-books.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/books/delete-all-test-books.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getBookByIsbn_ExistingIsbns_Success() throws Exception {
+        // When
+        MvcResult single = mockMvc.perform(get("/api/books/isbn/{isbn}", "2222"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult batch = mockMvc.perform(get("/api/books/isbn")
+                        .param("isbn", "1111", "9999", "2222"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        BookDto actual = objectMapper.readValue(single.getResponse().getContentAsString(),
+                BookDto.class);
+        Assertions.assertEquals(2L, actual.getId());
+        BookDto[] books = objectMapper.readValue(batch.getResponse().getContentAsString(),
+                BookDto[].class);
+        Assertions.assertEquals(Set.of("1111", "2222"), Arrays.stream(books)
+                .map(BookDto::getIsbn)
+                .collect(Collectors.toSet()));
+        mockMvc.perform(get("/api/books/isbn/{isbn}", "9999"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Verify get book by id with unauthorized user results in HTTP 401 Unauthorized")
     void getBookById_UnauthorisedAccess_Unauthorised() throws Exception {
@@ -363,6 +440,114 @@ class BookControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("Verify NDJSON import saves valid rows and reports invalid ones")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Sql(scripts = {"classpath:database/categories/delete-all-test-books-categories.sql",
+            "classpath:database/books/delete-all-test-books.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void importNdjson_MixedRows_ReportsErrorsPerLine() throws Exception {
+        // Given
+        String content = String.join("\n",
+                "{\"title\":\"First\",\"author\":\"Author\",\"isbn\":\"import-1\","
+                        + "\"price\":10,\"categoryIds\":[1]}",
+                "{\"title\":\"Second\",\"author\":\"Author\",\"isbn\":\"import-2\","
+                        + "\"price\":10,\"categoryIds\":[3]}",
+                "not json",
+                "{\"title\":\"Third\",\"author\":\"Author\",\"isbn\":\"import-1\","
+                        + "\"price\":10,\"categoryIds\":[2]}");
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(content)
+                        .contentType("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        BookImportReportDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportReportDto.class);
+        Assertions.assertEquals(4, actual.getTotalRows());
+        Assertions.assertEquals(1, actual.getImportedRows());
+        Assertions.assertEquals(3, actual.getFailedRows());
+        Assertions.assertEquals(List.of(2L, 3L, 4L), actual.getErrors().stream()
+                .map(error -> error.getLine())
+                .sorted()
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Verify CSV import saves books with their categories")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Sql(scripts = {"classpath:database/categories/delete-all-test-books-categories.sql",
+            "classpath:database/books/delete-all-test-books.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void importCsv_ValidRows_Success() throws Exception {
+        // Given
+        String content = "title,author,isbn,price,description,categoryIds\n"
+                + "\"Quoted, title\",Author,csv-1,12.50,,1;2\n"
+                + "Plain title,Author,csv-2,7,\"Multi\nline\",2\n";
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/books/import")
+                        .content(content)
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        BookImportReportDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), BookImportReportDto.class);
+        Assertions.assertEquals(2, actual.getImportedRows());
+        Assertions.assertEquals(0, actual.getFailedRows());
+    }
+
+    @Test
+    @DisplayName("Verify import with forbidden access results in HTTP 403 Forbidden")
+    @WithMockUser(username = "user", roles = {"USER"})
+    void importNdjson_ForbiddenAccess_Forbidden() throws Exception {
+        // When
+        mockMvc.perform(post("/api/books/import")
+                        .content("{}")
+                        .contentType("application/x-ndjson"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Verify export streams every book with its categories as NDJSON")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @Sql(scripts = {"classpath:database/books/create-test-books.sql",
+            "classpath:database/categories/create-test-books-categories.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/categories/delete-all-test-books-categories.sql",
+            "classpath:database/books/delete-all-test-books.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void exportNdjson_ExistingBooks_StreamsOneLinePerBook() throws Exception {
+        // When
+        MvcResult asyncResult = mockMvc.perform(get("/api/books/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        BookDto first = objectMapper.readValue(lines[0], BookDto.class);
+        Assertions.assertEquals(1L, first.getId());
+        Assertions.assertEquals(Set.of(1L), first.getCategoryIds());
+    }
+
+    @Test
+    @DisplayName("Verify export with an unknown format results in HTTP 400 BadRequest")
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void export_UnknownFormat_BadRequest() throws Exception {
+        // When
+        mockMvc.perform(get("/api/books/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
     @AfterAll
     static void afterAll(@Autowired DataSource dataSource) {
         tearDown(dataSource);
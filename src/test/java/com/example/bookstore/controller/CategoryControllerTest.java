@@ -15,6 +15,7 @@ import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
@@ -152,6 +153,28 @@ class CategoryControllerTest {
         EqualsBuilder.reflectionEquals(expected.get(1), actual[1]);
     }
 
+    @Test
+    @DisplayName("Verify get a page of categories returns only that page")
+    @WithMockUser(username = "user", roles = {"USER"})
+    @Sql(scripts = "classpath:database/categories/create-test-categories.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = "classpath:database/categories/delete-all-test-categories.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getAllCategories_SecondPage_ReturnsSecondCategory() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/categories")
+                        .param("page", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        CategoryResponseDto[] actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), CategoryResponseDto[].class);
+        Assertions.assertEquals(1, actual.length);
+        Assertions.assertEquals(2L, actual[0].getId());
+    }
+
     @Test
     @DisplayName("Verify get categories with unauthorized user results in HTTP 401 Unauthorized")
     public void getAllCategories_UnauthorizedAccess_Unauthorized() throws Exception {
@@ -365,6 +388,44 @@ class CategoryControllerTest {
         EqualsBuilder.reflectionEquals(expected.get(1), actual[1]);
     }
 
+    @Test
+    @DisplayName("Verify books and breadcrumbs follow the category tree")
+    @WithMockUser(username = "user", roles = {"USER"})
+    @Sql(scripts = {"classpath:database/categories/create-test-categories.sql",
+            "classpath:database/books/create-test-books.sql",
+            "classpath:database/categories/create-test-category-tree.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/categories/delete-all-test-categories.sql",
+            "classpath:database/books/delete-all-test-books.sql",
+            "classpath:database/categories/delete-all-test-books-categories.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void getBooksByCategoryId_IncludeSubcategories_ReturnsSubtreeBooks() throws Exception {
+        // When
+        MvcResult direct = mockMvc.perform(get("/api/categories/{id}/books", 1L))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult subtree = mockMvc.perform(get("/api/categories/{id}/books", 1L)
+                        .param("includeSubcategories", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult breadcrumbs = mockMvc.perform(get("/api/categories/{id}/breadcrumbs", 3L))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        Assertions.assertEquals(0, objectMapper.readValue(direct.getResponse()
+                .getContentAsByteArray(), BookDtoWithoutCategoryIds[].class).length);
+        BookDtoWithoutCategoryIds[] books = objectMapper.readValue(subtree.getResponse()
+                .getContentAsByteArray(), BookDtoWithoutCategoryIds[].class);
+        Assertions.assertEquals(1, books.length);
+        Assertions.assertEquals(2L, books[0].getId());
+        CategoryResponseDto[] path = objectMapper.readValue(breadcrumbs.getResponse()
+                .getContentAsByteArray(), CategoryResponseDto[].class);
+        Assertions.assertEquals(List.of(1L, 3L), Arrays.stream(path)
+                .map(CategoryResponseDto::getId)
+                .toList());
+    }
+
     @Test
     @DisplayName("Verify get books by category id with unauthorized user results in "
             + "HTTP 401 Unauthorized")
@@ -0,0 +1,137 @@
+package com.example.bookstore.controller;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.bookstore.dto.CartBatchRequestDto;
+import com.example.bookstore.dto.CartBatchResponseDto;
+import com.example.bookstore.dto.CartOperationRequestDto;
+import com.example.bookstore.dto.CartOperationResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {"classpath:database/books/create-test-books.sql",
+        "classpath:database/carts/create-test-shopping-cart.sql",
+        "classpath:database/carts/add-test-cart-items.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database/carts/delete-all-test-shopping-carts.sql",
+        "classpath:database/books/delete-all-test-books.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ShoppingCartControllerTest {
+    protected static MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll(@Autowired WebApplicationContext applicationContext) {
+        mockMvc = MockMvcBuilders.webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Verify a batch applies valid operations in order and reports failed ones")
+    @WithMockUser(username = "cart@test.com", roles = {"USER"})
+    void applyOperations_MixedOperations_AppliesValidAndReportsFailures() throws Exception {
+        // Given
+        CartBatchRequestDto requestDto = new CartBatchRequestDto();
+        requestDto.setOperations(List.of(
+                operation(CartOperationRequestDto.Type.ADD, 2L, null, 3),
+                operation(CartOperationRequestDto.Type.UPDATE, null, 1L, 5),
+                operation(CartOperationRequestDto.Type.ADD, 100L, null, 1),
+                operation(CartOperationRequestDto.Type.REMOVE, null, 99L, 0)));
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+
+        // When
+        MvcResult result = mockMvc.perform(patch("/api/cart")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        CartBatchResponseDto actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), CartBatchResponseDto.class);
+        Assertions.assertEquals(List.of(true, true, false, false), actual.getResults().stream()
+                .map(CartOperationResultDto::isApplied)
+                .toList());
+        Assertions.assertEquals("Book with id 100 not found.",
+                actual.getResults().get(2).getMessage());
+        Assertions.assertEquals("Cart item with id 99 not found.",
+                actual.getResults().get(3).getMessage());
+        Assertions.assertEquals(Map.of(1L, 5L, 2L, 3L), findQuantities());
+    }
+
+    @Test
+    @DisplayName("Verify a batch removing an item deletes it from the cart")
+    @WithMockUser(username = "cart@test.com", roles = {"USER"})
+    void applyOperations_RemoveItem_DeletesItem() throws Exception {
+        // Given
+        CartBatchRequestDto requestDto = new CartBatchRequestDto();
+        requestDto.setOperations(List.of(
+                operation(CartOperationRequestDto.Type.REMOVE, null, 1L, 0)));
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+
+        // When
+        mockMvc.perform(patch("/api/cart")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // Then
+        Assertions.assertEquals(Map.of(), findQuantities());
+    }
+
+    @Test
+    @DisplayName("Verify an empty batch results in HTTP 400 BadRequest")
+    @WithMockUser(username = "cart@test.com", roles = {"USER"})
+    void applyOperations_EmptyBatch_400BadRequest() throws Exception {
+        // Given
+        CartBatchRequestDto requestDto = new CartBatchRequestDto();
+        requestDto.setOperations(List.of());
+        String jsonRequest = objectMapper.writeValueAsString(requestDto);
+
+        // When
+        mockMvc.perform(patch("/api/cart")
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Map<Long, Long> findQuantities() {
+        return jdbcTemplate.queryForList(
+                "SELECT book_id, quantity FROM cart_items WHERE shopping_cart_id = 1").stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("book_id")).longValue(),
+                        row -> ((Number) row.get("quantity")).longValue()));
+    }
+
+    private CartOperationRequestDto operation(CartOperationRequestDto.Type type, Long bookId,
+                                              Long cartItemId, int quantity) {
+        CartOperationRequestDto operation = new CartOperationRequestDto();
+        operation.setType(type);
+        operation.setBookId(bookId);
+        operation.setCartItemId(cartItemId);
+        operation.setQuantity(quantity);
+        return operation;
+    }
+}
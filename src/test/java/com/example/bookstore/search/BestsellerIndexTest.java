@@ -0,0 +1,71 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.OrderCreatedEvent;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.OrderItemJdbcRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class BestsellerIndexTest {
+    private BestsellerIndex bestsellerIndex;
+
+    @BeforeEach
+    void setUp() {
+        CategoryBitmapIndex categoryBitmapIndex =
+                new CategoryBitmapIndex(Mockito.mock(BookRepository.class));
+        categoryBitmapIndex.index(1L, Set.of(1L));
+        categoryBitmapIndex.index(2L, Set.of(2L));
+        categoryBitmapIndex.index(3L, Set.of(1L, 2L));
+        OrderItemJdbcRepository orderItemJdbcRepository =
+                Mockito.mock(OrderItemJdbcRepository.class);
+        Mockito.when(orderItemJdbcRepository.findMaxOrderId()).thenReturn(4L);
+        Mockito.doAnswer(invocation -> {
+            OrderItemJdbcRepository.SaleConsumer consumer = invocation.getArgument(2);
+            LocalDateTime now = LocalDateTime.now();
+            consumer.accept(1L, 5, now.minusHours(1));
+            consumer.accept(2L, 7, now.minusDays(2));
+            consumer.accept(3L, 9, now.minusDays(10));
+            consumer.accept(1L, 100, now.minusDays(40));
+            return null;
+        }).when(orderItemJdbcRepository).streamSalesSince(Mockito.any(), Mockito.eq(4L),
+                Mockito.any());
+        bestsellerIndex = new BestsellerIndex(orderItemJdbcRepository, categoryBitmapIndex);
+        bestsellerIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Verify each period only counts the orders inside its window")
+    void findBestsellers_AfterRebuild_RanksByPeriod() {
+        Assertions.assertEquals(List.of(1L), List.copyOf(bestsellerIndex
+                .findBestsellers(BestsellerPeriod.DAY, null, 10).keySet()));
+        Assertions.assertEquals(Map.of(2L, 7, 1L, 5),
+                bestsellerIndex.findBestsellers(BestsellerPeriod.WEEK, null, 10));
+        Assertions.assertEquals(List.of(3L, 2L, 1L), List.copyOf(bestsellerIndex
+                .findBestsellers(BestsellerPeriod.MONTH, null, 10).keySet()));
+        Assertions.assertEquals(List.of(3L, 1L), List.copyOf(bestsellerIndex
+                .findBestsellers(BestsellerPeriod.MONTH, 1L, 10).keySet()));
+        Assertions.assertTrue(bestsellerIndex
+                .findBestsellers(BestsellerPeriod.MONTH, 5L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify new orders are added to every period and category they fall in")
+    void findBestsellers_AfterNewOrder_ReflectsChanges() {
+        bestsellerIndex.onOrderCreated(new OrderCreatedEvent(5L, LocalDateTime.now(),
+                Map.of(3L, 2, 2L, 1)));
+
+        Assertions.assertEquals(List.of(1L, 3L, 2L), List.copyOf(bestsellerIndex
+                .findBestsellers(BestsellerPeriod.DAY, null, 10).keySet()));
+        Assertions.assertEquals(Map.of(3L, 2, 2L, 1),
+                bestsellerIndex.findBestsellers(BestsellerPeriod.DAY, 2L, 10));
+        Assertions.assertEquals(Map.of(3L, 11),
+                bestsellerIndex.findBestsellers(BestsellerPeriod.MONTH, 2L, 1));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.projection.BookView;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+class BookSearchIndexTest {
+    private BookRepository bookRepository;
+    private BookSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = Mockito.mock(BookRepository.class);
+        searchIndex = new BookSearchIndex(bookRepository);
+        searchIndex.index(1L, "The Hobbit", "J. R. R. Tolkien", "978-0-261-10221-7",
+                "A fantasy novel about Bilbo Baggins");
+        searchIndex.index(2L, "The Lord of the Rings", "J. R. R. Tolkien", "978-0-618-64015-7",
+                "An epic high fantasy novel");
+        searchIndex.index(3L, "Dune", "Frank Herbert", "978-0-441-17271-9",
+                "Science fiction novel set on the desert planet Arrakis");
+    }
+
+    @Test
+    @DisplayName("Verify title matches outrank description matches")
+    void search_TermInTitleAndDescription_RanksTitleFirst() {
+        searchIndex.index(4L, "Fantasy Worlds", "Someone", "1234", "Essays");
+
+        List<Long> actual = searchIndex.search("fantasy", 10);
+
+        Assertions.assertEquals(4L, actual.get(0));
+        Assertions.assertEquals(3, actual.size());
+    }
+
+    @Test
+    @DisplayName("Verify prefixes, diacritics and isbn without separators are matched")
+    void search_PrefixAndNormalizedTerms_ReturnsMatches() {
+        Assertions.assertEquals(List.of(1L), searchIndex.search("hobb", 10));
+        Assertions.assertEquals(List.of(3L), searchIndex.search("Hérbert", 10));
+        Assertions.assertEquals(List.of(3L), searchIndex.search("9780441172719", 10));
+        Assertions.assertEquals(2, searchIndex.search("tolk", 10).size());
+    }
+
+    @Test
+    @DisplayName("Verify updated and removed books are reflected without a rebuild")
+    void search_AfterUpdateAndRemove_ReflectsChanges() {
+        searchIndex.index(3L, "Children of Dune", "Frank Herbert", "978-0-441-10402-4", null);
+        searchIndex.remove(1L);
+
+        Assertions.assertTrue(searchIndex.search("arrakis", 10).isEmpty());
+        Assertions.assertEquals(List.of(3L), searchIndex.search("children", 10));
+        Assertions.assertTrue(searchIndex.search("hobbit", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify searches see the old index during a rebuild and writes made meanwhile")
+    void rebuild_WritesDuringRebuild_AreKeptAfterSwap() {
+        // Given
+        Mockito.when(bookRepository.findAllViewsByIdGreaterThan(Mockito.anyLong(),
+                Mockito.any(Pageable.class))).thenAnswer(invocation -> {
+                    Assertions.assertEquals(List.of(1L), searchIndex.search("hobbit", 10));
+                    searchIndex.remove(1L);
+                    searchIndex.index(5L, "Neuromancer", "William Gibson", "5555", null);
+                    return List.of(view(1L, "The Hobbit"), view(4L, "Emma"));
+                });
+
+        // When
+        searchIndex.rebuild();
+
+        // Then
+        Assertions.assertTrue(searchIndex.search("hobbit", 10).isEmpty());
+        Assertions.assertTrue(searchIndex.search("dune", 10).isEmpty());
+        Assertions.assertEquals(List.of(4L), searchIndex.search("emma", 10));
+        Assertions.assertEquals(List.of(5L), searchIndex.search("neuromancer", 10));
+    }
+
+    private BookView view(Long id, String title) {
+        BookView view = Mockito.mock(BookView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getTitle()).thenReturn(title);
+        return view;
+    }
+}
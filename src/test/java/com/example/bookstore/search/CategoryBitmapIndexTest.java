@@ -0,0 +1,107 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.CategoryDeletedEvent;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.projection.BookCategoryIdView;
+import com.example.bookstore.repository.projection.BookView;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+class CategoryBitmapIndexTest {
+    private static final ProjectionFactory PROJECTION_FACTORY =
+            new SpelAwareProxyProjectionFactory();
+    private BookRepository bookRepository;
+    private CategoryBitmapIndex bitmapIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = Mockito.mock(BookRepository.class);
+        bitmapIndex = new CategoryBitmapIndex(bookRepository);
+        bitmapIndex.index(1L, Set.of(1L, 2L));
+        bitmapIndex.index(2L, Set.of(1L));
+        bitmapIndex.index(3L, Set.of(2L, 3L));
+        bitmapIndex.index(4L, Set.of());
+    }
+
+    @Test
+    @DisplayName("Verify all, any and none are combined as AND, OR and NOT")
+    void filter_AllAnyNone_ReturnsMatchingBooks() {
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(1),
+                bitmapIndex.filter(Set.of(1L, 2L), Set.of(), Set.of()));
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(1, 2, 3),
+                bitmapIndex.filter(Set.of(), Set.of(1L, 3L), Set.of()));
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(2, 4),
+                bitmapIndex.filter(Set.of(), Set.of(), Set.of(2L)));
+        Assertions.assertTrue(bitmapIndex.filter(Set.of(5L), Set.of(), Set.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify updated, removed books and deleted categories are reflected")
+    void filter_AfterWrites_ReflectsChanges() {
+        bitmapIndex.index(2L, Set.of(3L));
+        bitmapIndex.remove(3L);
+        bitmapIndex.onCategoryDeleted(new CategoryDeletedEvent(2L));
+
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(1),
+                bitmapIndex.filter(Set.of(1L), Set.of(), Set.of()));
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(2),
+                bitmapIndex.filter(Set.of(3L), Set.of(), Set.of()));
+        Assertions.assertTrue(bitmapIndex.filter(Set.of(2L), Set.of(), Set.of()).isEmpty());
+        Assertions.assertEquals(List.of(1L), bitmapIndex.findCategoryIds(1L));
+    }
+
+    @Test
+    @DisplayName("Verify book writes made during a rebuild survive the swap")
+    void rebuild_WritesDuringRebuild_AreReplayed() {
+        // Given
+        Mockito.when(bookRepository.findAllViewsByIdGreaterThan(Mockito.anyLong(),
+                Mockito.any(Pageable.class))).thenAnswer(invocation -> {
+                    bitmapIndex.index(5L, Set.of(3L));
+                    bitmapIndex.remove(1L);
+                    return List.of(view(1L), view(2L));
+                });
+        Mockito.when(bookRepository.findCategoryIdsByBookIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(pair(1L, 1L), pair(1L, 2L), pair(2L, 1L)));
+
+        // When
+        bitmapIndex.rebuild();
+
+        // Then
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(2, 5),
+                bitmapIndex.filter(Set.of(), Set.of(), Set.of()));
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(2),
+                bitmapIndex.filter(Set.of(1L), Set.of(), Set.of()));
+        Assertions.assertEquals(RoaringBitmap.bitmapOf(5),
+                bitmapIndex.filter(Set.of(3L), Set.of(), Set.of()));
+        Assertions.assertEquals(List.of(1L), bitmapIndex.findCategoryIds(2L));
+    }
+
+    @Test
+    @DisplayName("Verify a page is taken by rank from the filtered bitmap")
+    void page_OffsetAndLimit_ReturnsIdsInOrder() {
+        RoaringBitmap books = bitmapIndex.filter(Set.of(), Set.of(), Set.of());
+
+        Assertions.assertEquals(List.of(2L, 3L), bitmapIndex.page(books, 1, 2));
+        Assertions.assertEquals(List.of(4L), bitmapIndex.page(books, 3, 2));
+        Assertions.assertTrue(bitmapIndex.page(books, 4, 2).isEmpty());
+    }
+
+    private BookView view(Long id) {
+        return PROJECTION_FACTORY.createProjection(BookView.class, Map.of("id", id));
+    }
+
+    private BookCategoryIdView pair(Long bookId, Long categoryId) {
+        return PROJECTION_FACTORY.createProjection(BookCategoryIdView.class,
+                Map.of("bookId", bookId, "categoryId", categoryId));
+    }
+}
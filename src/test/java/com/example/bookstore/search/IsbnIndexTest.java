@@ -0,0 +1,68 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class IsbnIndexTest {
+    private IsbnIndex isbnIndex;
+
+    @BeforeEach
+    void setUp() {
+        isbnIndex = new IsbnIndex(Mockito.mock(BookRepository.class));
+        isbnIndex.index(1L, "978-0-261-10221-7");
+        isbnIndex.index(2L, "9780345391803");
+        isbnIndex.index(3L, "1111");
+    }
+
+    @Test
+    @DisplayName("Verify ISBN-10 and hyphenated ISBN-13 normalize to the same key")
+    void pack_Isbn10AndIsbn13_ReturnSameKey() {
+        Assertions.assertEquals(9780261102217L, IsbnIndex.pack("0-261-10221-4"));
+        Assertions.assertEquals(9780261102217L, IsbnIndex.pack("978 0 261 10221 7"));
+        Assertions.assertEquals(9780439420891L, IsbnIndex.pack("043942089x"));
+        Assertions.assertEquals(IsbnIndex.NOT_FOUND, IsbnIndex.pack("1111"));
+        Assertions.assertEquals(IsbnIndex.NOT_FOUND, IsbnIndex.pack("97802611022X7"));
+        Assertions.assertEquals("0000000000017", IsbnIndex.toIsbn13(17L));
+    }
+
+    @Test
+    @DisplayName("Verify books are found by any ISBN form and unknown ones miss")
+    void find_IndexedIsbn_ReturnsBookId() {
+        Assertions.assertEquals(1L, isbnIndex.find("0261102214"));
+        Assertions.assertEquals(2L, isbnIndex.find("978-0-345-39180-3"));
+        Assertions.assertEquals(IsbnIndex.NOT_FOUND, isbnIndex.find("1111"));
+        Assertions.assertEquals(IsbnIndex.NOT_FOUND, isbnIndex.find("9780000000002"));
+    }
+
+    @Test
+    @DisplayName("Verify edited and removed books drop their old ISBN")
+    void find_AfterWrites_ReflectsChanges() {
+        isbnIndex.index(1L, "9780000000002");
+        isbnIndex.remove(2L);
+
+        Assertions.assertEquals(IsbnIndex.NOT_FOUND, isbnIndex.find("9780261102217"));
+        Assertions.assertEquals(1L, isbnIndex.find("9780000000002"));
+        Assertions.assertEquals(IsbnIndex.NOT_FOUND, isbnIndex.find("9780345391803"));
+    }
+
+    @Test
+    @DisplayName("Verify lookups survive growth and interleaved removals")
+    void find_ManyBooks_ReturnsEveryRemainingBook() {
+        for (long id = 10; id < 5000; id++) {
+            isbnIndex.index(id, String.valueOf(9790000000000L + id));
+        }
+        for (long id = 10; id < 5000; id += 3) {
+            isbnIndex.remove(id);
+        }
+
+        for (long id = 10; id < 5000; id++) {
+            long expected = (id - 10) % 3 == 0 ? IsbnIndex.NOT_FOUND : id;
+            Assertions.assertEquals(expected,
+                    isbnIndex.find(String.valueOf(9790000000000L + id)));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.event.OrderCreatedEvent;
+import com.example.bookstore.repository.OrderItemJdbcRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class RelatedBooksIndexTest {
+    private RelatedBooksIndex relatedBooksIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        OrderItemJdbcRepository orderItemJdbcRepository =
+                Mockito.mock(OrderItemJdbcRepository.class);
+        Mockito.when(orderItemJdbcRepository.findMaxOrderId()).thenReturn(3L);
+        Mockito.doAnswer(invocation -> {
+            Consumer<long[]> consumer = invocation.getArgument(2);
+            consumer.accept(new long[]{1, 2, 3});
+            consumer.accept(new long[]{1, 2});
+            consumer.accept(new long[]{1, 4, 4});
+            return null;
+        }).when(orderItemJdbcRepository).streamBookIdsByOrder(Mockito.eq(0L),
+                Mockito.eq(3L), Mockito.any(Consumer.class));
+        relatedBooksIndex = new RelatedBooksIndex(orderItemJdbcRepository);
+        relatedBooksIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Verify historical orders are ranked by co-occurrence, then by id")
+    void findRelated_AfterRebuild_ReturnsRankedNeighbours() {
+        Assertions.assertEquals(List.of(2L, 3L, 4L), relatedBooksIndex.findRelated(1L, 10));
+        Assertions.assertEquals(List.of(2L), relatedBooksIndex.findRelated(1L, 1));
+        Assertions.assertEquals(List.of(1L), relatedBooksIndex.findRelated(4L, 10));
+        Assertions.assertTrue(relatedBooksIndex.findRelated(5L, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify new orders move the books they bought up the top list")
+    void findRelated_AfterNewOrders_ReflectsChanges() {
+        relatedBooksIndex.onOrderCreated(order(4L, 1L, 4L));
+        relatedBooksIndex.onOrderCreated(order(5L, 1L, 4L, 5L));
+
+        Assertions.assertEquals(List.of(4L, 2L, 3L, 5L), relatedBooksIndex.findRelated(1L, 10));
+        Assertions.assertEquals(List.of(1L, 5L), relatedBooksIndex.findRelated(4L, 10));
+    }
+
+    @Test
+    @DisplayName("Verify only the top neighbours are kept per book")
+    void findRelated_ManyNeighbours_KeepsTopOnly() {
+        for (long bookId = 100; bookId < 100 + RelatedBooksIndex.MAX_RELATED + 5; bookId++) {
+            relatedBooksIndex.onOrderCreated(order(bookId, 1L, bookId));
+        }
+
+        List<Long> related = relatedBooksIndex.findRelated(1L, 100);
+        Assertions.assertEquals(RelatedBooksIndex.MAX_RELATED, related.size());
+        Assertions.assertEquals(List.of(2L, 3L, 4L, 100L), related.subList(0, 4));
+    }
+
+    private OrderCreatedEvent order(Long orderId, Long... bookIds) {
+        Map<Long, Integer> quantities = Stream.of(bookIds)
+                .collect(Collectors.toMap(bookId -> bookId, bookId -> 1));
+        return new OrderCreatedEvent(orderId, LocalDateTime.now(), quantities);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.dto.SuggestionDto;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.OrderItemRepository;
+import com.example.bookstore.repository.projection.BookSalesView;
+import com.example.bookstore.repository.projection.BookView;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+class SuggestIndexTest {
+    private static final ProjectionFactory PROJECTION_FACTORY =
+            new SpelAwareProxyProjectionFactory();
+    private OrderItemRepository orderItemRepository;
+    private SuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        BookRepository bookRepository = Mockito.mock(BookRepository.class);
+        orderItemRepository = Mockito.mock(OrderItemRepository.class);
+        Mockito.when(bookRepository.findAllViewsByIdGreaterThan(Mockito.eq(0L),
+                Mockito.any(Pageable.class))).thenReturn(List.of(
+                        bookView(1L, "The Hobbit", "J. R. R. Tolkien"),
+                        bookView(2L, "The Hitchhiker's Guide", "Douglas Adams"),
+                        bookView(3L, "The Historian", "Elizabeth Kostova")));
+        Mockito.when(orderItemRepository.findSalesPerBook()).thenReturn(List.of(
+                sales(2L, 50L), sales(3L, 10L)));
+        suggestIndex = new SuggestIndex(bookRepository, orderItemRepository);
+        suggestIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Verify completions are ranked by units sold")
+    void suggest_SharedPrefix_ReturnsMostPopularFirst() {
+        Assertions.assertEquals(List.of("The Hitchhiker's Guide", "The Historian", "The Hobbit"),
+                texts(suggestIndex.suggest("the h", 10)));
+        Assertions.assertEquals(List.of("The Hitchhiker's Guide"),
+                texts(suggestIndex.suggest("THE H", 1)));
+        Assertions.assertEquals(List.of("J. R. R. Tolkien"), texts(suggestIndex.suggest("j r", 5)));
+    }
+
+    @Test
+    @DisplayName("Verify writes are visible before and after the delta is merged")
+    void suggest_AfterWrites_ReflectsChanges() {
+        suggestIndex.index(3L, "Dune", "Frank Herbert");
+        suggestIndex.remove(1L);
+
+        Assertions.assertEquals(List.of("The Hitchhiker's Guide"),
+                texts(suggestIndex.suggest("the h", 10)));
+        Assertions.assertEquals(List.of("Dune"), texts(suggestIndex.suggest("du", 10)));
+        Assertions.assertEquals(SuggestionDto.Type.AUTHOR,
+                suggestIndex.suggest("frank", 10).get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Verify an edited title keeps the weight it had before the merge")
+    void suggest_EditedPopularTitle_KeepsItsRank() {
+        suggestIndex.index(2L, "The Hitchhiker's Guide to the Galaxy", "Douglas Adams");
+
+        Assertions.assertEquals(List.of("The Hitchhiker's Guide to the Galaxy", "The Historian",
+                "The Hobbit"), texts(suggestIndex.suggest("the h", 10)));
+    }
+
+    @Test
+    @DisplayName("Verify a refresh picks up new sales without any book writes")
+    void refreshWeights_NewSales_Reranks() {
+        Mockito.when(orderItemRepository.findSalesPerBook()).thenReturn(List.of(
+                sales(1L, 80L), sales(2L, 50L), sales(3L, 10L)));
+
+        suggestIndex.mergeDelta();
+        Assertions.assertEquals("The Hitchhiker's Guide",
+                texts(suggestIndex.suggest("the h", 10)).get(0));
+        suggestIndex.refreshWeights();
+
+        Assertions.assertEquals(List.of("The Hobbit", "The Hitchhiker's Guide", "The Historian"),
+                texts(suggestIndex.suggest("the h", 10)));
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream()
+                .map(SuggestionDto::getText)
+                .collect(Collectors.toList());
+    }
+
+    private static BookView bookView(Long id, String title, String author) {
+        return PROJECTION_FACTORY.createProjection(BookView.class,
+                Map.of("id", id, "title", title, "author", author));
+    }
+
+    private static BookSalesView sales(Long bookId, Long quantity) {
+        return PROJECTION_FACTORY.createProjection(BookSalesView.class,
+                Map.of("bookId", bookId, "quantity", quantity));
+    }
+}
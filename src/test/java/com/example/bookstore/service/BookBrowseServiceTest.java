@@ -0,0 +1,91 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.BookBrowsePageDto;
+import com.example.bookstore.dto.BookBrowseRequestDto;
+import com.example.bookstore.dto.BookDto;
+import com.example.bookstore.dto.BookFacetsDto;
+import com.example.bookstore.dto.FacetValueDto;
+import com.example.bookstore.exception.InvalidRequestException;
+import com.example.bookstore.repository.BookFacetRepository;
+import com.example.bookstore.service.impl.BookBrowseServiceImpl;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@ExtendWith(MockitoExtension.class)
+class BookBrowseServiceTest {
+    @InjectMocks
+    private BookBrowseServiceImpl bookBrowseService;
+
+    @Mock
+    private BookFacetRepository bookFacetRepository;
+
+    @Mock
+    private BookService bookService;
+
+    @Test
+    @DisplayName("Verify browse returns the page and takes the total from the facets")
+    void browse_ValidSort_ReturnsPageWithFacets() {
+        // Given
+        BookBrowseRequestDto filter = new BookBrowseRequestDto();
+        BookFacetsDto facets = facets(2, 1);
+        BookDto book = new BookDto();
+        book.setId(5L);
+
+        Mockito.when(bookFacetRepository.countFacets(filter)).thenReturn(facets);
+        Mockito.when(bookFacetRepository.findIds(filter, Sort.Order.desc("price"), 0, 2))
+                .thenReturn(List.of(5L));
+        Mockito.when(bookService.findAllByIds(List.of(5L))).thenReturn(List.of(book));
+
+        // When
+        BookBrowsePageDto actual = bookBrowseService.browse(filter,
+                PageRequest.of(0, 2, Sort.by(Sort.Order.desc("price"))));
+
+        // Then
+        Assertions.assertEquals(3, actual.getTotalElements());
+        Assertions.assertEquals(List.of(book), actual.getBooks());
+        Assertions.assertSame(facets, actual.getFacets());
+    }
+
+    @Test
+    @DisplayName("Verify a page past the last book skips the page query")
+    void browse_OffsetPastTotal_ReturnsEmptyPage() {
+        // Given
+        BookBrowseRequestDto filter = new BookBrowseRequestDto();
+        Mockito.when(bookFacetRepository.countFacets(filter)).thenReturn(facets(1, 0));
+
+        // When
+        BookBrowsePageDto actual = bookBrowseService.browse(filter, PageRequest.of(1, 20));
+
+        // Then
+        Assertions.assertTrue(actual.getBooks().isEmpty());
+        Mockito.verifyNoMoreInteractions(bookFacetRepository);
+        Mockito.verifyNoInteractions(bookService);
+    }
+
+    @Test
+    @DisplayName("Verify sorting by a column without an index is rejected")
+    void browse_UnindexedSort_ThrowsInvalidRequestException() {
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> bookBrowseService.browse(new BookBrowseRequestDto(),
+                        PageRequest.of(0, 20, Sort.by("description"))));
+        Mockito.verifyNoInteractions(bookFacetRepository, bookService);
+    }
+
+    private static BookFacetsDto facets(long cheap, long expensive) {
+        BookFacetsDto facets = new BookFacetsDto();
+        facets.setAuthors(List.of());
+        facets.setCategories(List.of());
+        facets.setPrices(List.of(new FacetValueDto("0-10", cheap),
+                new FacetValueDto("100+", expensive)));
+        return facets;
+    }
+}
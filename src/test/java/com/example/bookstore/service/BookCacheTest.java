@@ -0,0 +1,102 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.config.CacheConfig;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.model.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.ResourceVersionRepository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+@SpringBootTest
+class BookCacheTest {
+    private static final Long BOOK_ID = 1L;
+    private static final int CONCURRENT_READERS = 8;
+    private static final long SLOW_LOAD_MILLIS = 200;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private BookRepository bookRepository;
+
+    @MockBean
+    private ResourceVersionRepository resourceVersionRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.BOOKS_CACHE).clear();
+        Mockito.when(resourceVersionRepository.findBookVersion(BOOK_ID))
+                .thenReturn(Optional.of(new ResourceVersionDto("1-0", 0)));
+    }
+
+    @Test
+    @DisplayName("Verify repeated reads of a book are served from the cache until deleted")
+    void getById_RepeatedReads_LoadsOnceUntilEvicted() {
+        // Given
+        Mockito.when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.of(book()));
+
+        // When
+        bookService.getById(BOOK_ID);
+        bookService.getById(BOOK_ID);
+        bookService.delete(BOOK_ID);
+        bookService.getById(BOOK_ID);
+
+        // Then
+        Mockito.verify(bookRepository, Mockito.times(2)).findById(BOOK_ID);
+        Mockito.verify(resourceVersionRepository, Mockito.times(2)).findBookVersion(BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("Verify concurrent misses on the same book are loaded from the database once")
+    void getById_ConcurrentMisses_LoadsOnce() throws Exception {
+        // Given
+        Mockito.when(bookRepository.findById(BOOK_ID)).thenAnswer(invocation -> {
+            Thread.sleep(SLOW_LOAD_MILLIS);
+            return Optional.of(book());
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_READERS);
+        List<Callable<Object>> readers = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_READERS; i++) {
+            readers.add(() -> bookService.getById(BOOK_ID));
+        }
+
+        // When
+        List<Future<Object>> results = executor.invokeAll(readers);
+        executor.shutdown();
+
+        // Then
+        for (Future<Object> result : results) {
+            Assertions.assertNotNull(result.get());
+        }
+        Mockito.verify(bookRepository, Mockito.times(1)).findById(BOOK_ID);
+    }
+
+    private Book book() {
+        Book book = new Book();
+        book.setId(BOOK_ID);
+        book.setTitle("Cached book");
+        book.setAuthor("Author");
+        book.setIsbn("1111");
+        book.setPrice(BigDecimal.TEN);
+        return book;
+    }
+}
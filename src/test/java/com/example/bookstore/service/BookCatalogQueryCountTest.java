@@ -0,0 +1,90 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.BookDto;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookCatalogQueryCountTest {
+    private static final int BOOKS_COUNT = 100;
+    private static final long FIRST_CATEGORY_ID = 1L;
+    private static final long SECOND_CATEGORY_ID = 2L;
+    private static final long CATALOG_QUERIES = 2;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, 'First'), (?, 'Second')",
+                FIRST_CATEGORY_ID, SECOND_CATEGORY_ID);
+        for (long id = 1; id <= BOOKS_COUNT; id++) {
+            jdbcTemplate.update("INSERT INTO books (id, title, author, isbn, price) "
+                    + "VALUES (?, ?, 'Author', ?, ?)", id, "Book " + id, "isbn-" + id,
+                    BigDecimal.TEN);
+            jdbcTemplate.update("INSERT INTO books_categories (book_id, category_id) "
+                    + "VALUES (?, ?), (?, ?)", id, FIRST_CATEGORY_ID, id, SECOND_CATEGORY_ID);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM books_categories");
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    @DisplayName("Verify a page of books costs the same number of statements for any size")
+    void findAll_PageOfBooks_ConstantNumberOfStatements() {
+        // When
+        List<BookDto> smallPage = bookService.findAll(PageRequest.of(0, 10, Sort.by("id")));
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        List<BookDto> fullPage = bookService.findAll(
+                PageRequest.of(0, BOOKS_COUNT, Sort.by("id")));
+
+        // Then
+        Assertions.assertEquals(10, smallPage.size());
+        Assertions.assertEquals(CATALOG_QUERIES, smallPageStatements);
+        Assertions.assertEquals(CATALOG_QUERIES, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(BOOKS_COUNT, fullPage.size());
+        fullPage.forEach(book -> Assertions.assertEquals(
+                Set.of(FIRST_CATEGORY_ID, SECOND_CATEGORY_ID), book.getCategoryIds()));
+    }
+
+    @Test
+    @DisplayName("Verify cursor paging over books costs a constant number of statements")
+    void findAllAfter_PageOfBooks_ConstantNumberOfStatements() {
+        // When
+        bookService.findAllAfter("", BOOKS_COUNT);
+
+        // Then
+        Assertions.assertEquals(CATALOG_QUERIES, statistics.getPrepareStatementCount());
+    }
+}
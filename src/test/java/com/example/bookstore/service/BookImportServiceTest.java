@@ -0,0 +1,92 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.BookDto;
+import com.example.bookstore.dto.BookImportReportDto;
+import com.example.bookstore.dto.CreateBookRequestDto;
+import com.example.bookstore.mapper.BookMapper;
+import com.example.bookstore.repository.BookJdbcRepository;
+import com.example.bookstore.repository.CategoryRepository;
+import com.example.bookstore.service.impl.BookImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+    private static final String NDJSON =
+            "{\"title\":\"First\",\"author\":\"A\",\"isbn\":\"1\",\"price\":10,"
+                    + "\"categoryIds\":[]}\n"
+                    + "{\"title\":\"Second\",\"author\":\"B\",\"isbn\":\"2\",\"price\":10,"
+                    + "\"categoryIds\":[]}\n";
+
+    @InjectMocks
+    private BookImportServiceImpl bookImportService;
+
+    @Mock
+    private BookJdbcRepository bookJdbcRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("Verify an isbn inserted concurrently fails only its own line")
+    void importNdjson_ConcurrentDuplicateIsbn_FailsConflictingLineOnly() {
+        // Given
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(bookJdbcRepository.findExistingIsbns(Set.of("1", "2")))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("2"));
+        Mockito.doThrow(new DuplicateKeyException("Duplicate entry '2' for key 'books.isbn'"))
+                .doNothing()
+                .when(bookJdbcRepository).insertBooks(Mockito.anyList());
+        Mockito.when(bookJdbcRepository.findIdsByIsbns(Set.of("1")))
+                .thenReturn(Map.of("1", 10L));
+        Mockito.when(bookMapper.toDto(Mockito.any(CreateBookRequestDto.class)))
+                .thenReturn(new BookDto());
+
+        // When
+        BookImportReportDto report = bookImportService.importNdjson(
+                new ByteArrayInputStream(NDJSON.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        Assertions.assertEquals(2, report.getTotalRows());
+        Assertions.assertEquals(1, report.getImportedRows());
+        Assertions.assertEquals(1, report.getFailedRows());
+        Assertions.assertEquals(2, report.getErrors().get(0).getLine());
+        Assertions.assertEquals("Book with isbn 2 already exists",
+                report.getErrors().get(0).getMessage());
+        Mockito.verify(bookJdbcRepository, Mockito.times(2)).insertBooks(Mockito.anyList());
+    }
+}
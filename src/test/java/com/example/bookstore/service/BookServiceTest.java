@@ -1,17 +1,27 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.BookCursorPageDto;
 import com.example.bookstore.dto.BookDto;
 import com.example.bookstore.dto.BookDtoWithoutCategoryIds;
 import com.example.bookstore.dto.CreateBookRequestDto;
+import com.example.bookstore.dto.ResourceVersionDto;
+import com.example.bookstore.event.BookDeletedEvent;
+import com.example.bookstore.event.BookSavedEvent;
 import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.exception.InvalidRequestException;
 import com.example.bookstore.mapper.BookMapper;
 import com.example.bookstore.model.Book;
 import com.example.bookstore.model.Category;
 import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.repository.CategoryRepository;
+import com.example.bookstore.repository.ResourceVersionRepository;
+import com.example.bookstore.repository.projection.BookCategoryIdView;
+import com.example.bookstore.repository.projection.BookView;
+import com.example.bookstore.search.BookSearchIndex;
 import com.example.bookstore.service.impl.BookServiceImpl;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.Assertions;
@@ -22,13 +32,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 @ExtendWith(MockitoExtension.class)
 class BookServiceTest {
+    private static final ProjectionFactory PROJECTION_FACTORY =
+            new SpelAwareProxyProjectionFactory();
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -41,6 +56,15 @@ class BookServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ResourceVersionRepository resourceVersionRepository;
+
     @Test
     @DisplayName("Verify save book works")
     void save_ValidBookRequestDto_ReturnsBookDto() {
@@ -80,6 +104,7 @@ class BookServiceTest {
 
         // Then
         Assertions.assertEquals(expected, actual);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.any(BookSavedEvent.class));
         Mockito.verify(bookRepository, Mockito.times(1)).save(Mockito.any());
         Mockito.verifyNoMoreInteractions(bookRepository, bookMapper);
     }
@@ -130,30 +155,21 @@ class BookServiceTest {
     @DisplayName("Verify find all books works")
     void findAll_ValidPageable_ReturnsAllBookDtos() {
         // Given
-        Category category = new Category();
-        category.setId(1L);
-        category.setName("Test");
-
-        Book book = new Book();
-        book.setAuthor("Test author");
-        book.setTitle("Test");
-        book.setIsbn("1111111");
-        book.setCategories(Set.of(category));
-        book.setPrice(BigDecimal.TEN);
+        BookView book = bookView(1L, "Test");
+        BookCategoryIdView categoryId = bookCategoryIdView(1L, 1L);
 
         BookDto bookDto = new BookDto();
-        bookDto.setAuthor(book.getAuthor());
+        bookDto.setId(book.getId());
         bookDto.setTitle(book.getTitle());
-        bookDto.setIsbn(book.getIsbn());
-        bookDto.setCategoryIds(Set.of(category.getId()));
-        bookDto.setPrice(book.getPrice());
+        bookDto.setCategoryIds(Set.of(categoryId.getCategoryId()));
 
-        List<Book> books = List.of(book);
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Book> booksPage = new PageImpl<>(books, pageable, books.size());
 
-        Mockito.when(bookRepository.findAll(pageable)).thenReturn(booksPage);
-        Mockito.when(bookMapper.toDto(book)).thenReturn(bookDto);
+        Mockito.when(bookRepository.findAllViews(pageable)).thenReturn(List.of(book));
+        Mockito.when(bookRepository.findCategoryIdsByBookIdIn(List.of(1L)))
+                .thenReturn(List.of(categoryId));
+        Mockito.when(bookMapper.toDtos(List.of(book), List.of(categoryId)))
+                .thenReturn(List.of(bookDto));
 
         // When
         List<BookDto> actual = bookService.findAll(pageable);
@@ -161,6 +177,8 @@ class BookServiceTest {
         // Then
         Assertions.assertEquals(1, actual.size());
         Assertions.assertEquals(bookDto, actual.get(0));
+        Mockito.verify(bookRepository, Mockito.never()).findAll(pageable);
+        Mockito.verify(bookRepository, Mockito.never()).findById(Mockito.any());
     }
 
     @Test
@@ -185,6 +203,9 @@ class BookServiceTest {
         expected.setCategoryIds(Set.of(category.getId()));
         expected.setPrice(book.getPrice());
 
+        ResourceVersionDto version = new ResourceVersionDto("1-0", 0);
+        Mockito.when(resourceVersionRepository.findBookVersion(book.getId()))
+                .thenReturn(Optional.of(version));
         Mockito.when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
         Mockito.when(bookMapper.toDto(book)).thenReturn(expected);
 
@@ -193,6 +214,7 @@ class BookServiceTest {
 
         // Then
         Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(version, actual.getVersion());
         Mockito.verify(bookRepository, Mockito.times(1)).findById(book.getId());
         Mockito.verifyNoMoreInteractions(bookRepository, bookMapper);
     }
@@ -201,7 +223,7 @@ class BookServiceTest {
     @DisplayName("Verify get book by id with invalid id throws exception")
     void getById_InvalidId_ThrowsEntityNotFoundException() {
         // Given
-        Mockito.when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(resourceVersionRepository.findBookVersion(1L)).thenReturn(Optional.empty());
 
         // When
         Throwable exception = Assertions.assertThrows(EntityNotFoundException.class, () -> {
@@ -210,7 +232,7 @@ class BookServiceTest {
 
         // Then
         Assertions.assertEquals("Book with id 1 not found.", exception.getLocalizedMessage());
-        Mockito.verify(bookRepository, Mockito.times(1)).findById(1L);
+        Mockito.verify(bookRepository, Mockito.never()).findById(1L);
     }
 
     @Test
@@ -322,39 +344,111 @@ class BookServiceTest {
         bookService.delete(1L);
         // Then
         Mockito.verify(bookRepository, Mockito.times(1)).deleteById(1L);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.any(BookDeletedEvent.class));
     }
 
     @Test
     @DisplayName("Verify find all books by category id works")
     void findAllByCategoryId() {
         // Given
-        Category category = new Category();
-        category.setId(1L);
-        category.setName("Test");
-
-        Book book = new Book();
-        book.setAuthor("Test test");
-        book.setTitle("Test");
-        book.setIsbn("11111111");
-        book.setPrice(BigDecimal.ONE);
+        BookView book = bookView(1L, "Test");
 
         BookDtoWithoutCategoryIds bookDtoWithoutCategories = new BookDtoWithoutCategoryIds();
-        bookDtoWithoutCategories.setAuthor(book.getAuthor());
+        bookDtoWithoutCategories.setId(book.getId());
         bookDtoWithoutCategories.setTitle(book.getTitle());
-        bookDtoWithoutCategories.setIsbn(book.getIsbn());
-        bookDtoWithoutCategories.setPrice(book.getPrice());
 
-        Mockito.when(bookRepository.findAllByCategories_Id(category.getId()))
-                .thenReturn(List.of(book));
+        Mockito.when(bookRepository.findAllViewsByCategoryId(1L)).thenReturn(List.of(book));
         Mockito.when(bookMapper.toDtoWithoutCategories(book)).thenReturn(bookDtoWithoutCategories);
 
         // When
-        List<BookDtoWithoutCategoryIds> books = bookService.findAllByCategoryId(category.getId());
+        List<BookDtoWithoutCategoryIds> books = bookService.findAllByCategoryId(1L);
 
         // Then
         Assertions.assertEquals(1, books.size());
         Assertions.assertEquals(bookDtoWithoutCategories, books.get(0));
-        Mockito.verify(bookRepository, Mockito.times(1)).findAllByCategories_Id(Mockito.any());
+        Mockito.verify(bookRepository, Mockito.times(1)).findAllViewsByCategoryId(Mockito.any());
         Mockito.verifyNoMoreInteractions(bookRepository, bookMapper);
     }
+
+    @Test
+    @DisplayName("Verify find all books after cursor returns next cursor")
+    void findAllAfter_MoreBooksAvailable_ReturnsNextCursor() {
+        // Given
+        BookView first = bookView(1L, "First");
+        BookView second = bookView(2L, "Second");
+
+        BookDto firstDto = new BookDto();
+        firstDto.setId(first.getId());
+        BookDto secondDto = new BookDto();
+        secondDto.setId(second.getId());
+
+        Mockito.when(bookRepository.findAllViewsByIdGreaterThan(0L,
+                PageRequest.of(0, 2, Sort.by("id")))).thenReturn(List.of(first, second));
+        Mockito.when(bookRepository.findAllViewsByIdGreaterThan(1L,
+                PageRequest.of(0, 2, Sort.by("id")))).thenReturn(List.of(second));
+        Mockito.when(bookMapper.toDtos(Mockito.anyList(), Mockito.anyList()))
+                .thenReturn(List.of(firstDto), List.of(secondDto));
+
+        // When
+        BookCursorPageDto firstPage = bookService.findAllAfter("", 1);
+        BookCursorPageDto lastPage = bookService.findAllAfter(firstPage.getNextCursor(), 1);
+
+        // Then
+        Assertions.assertEquals(List.of(firstDto), firstPage.getBooks());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+        Assertions.assertEquals(List.of(secondDto), lastPage.getBooks());
+        Assertions.assertNull(lastPage.getNextCursor());
+        Mockito.verify(bookRepository, Mockito.never()).count();
+    }
+
+    @Test
+    @DisplayName("Verify find all books after malformed cursor throws exception")
+    void findAllAfter_InvalidCursor_ThrowsInvalidRequestException() {
+        // When
+        Throwable exception = Assertions.assertThrows(InvalidRequestException.class, () -> {
+            bookService.findAllAfter("not-a-cursor", 10);
+        }, "InvalidRequestException was expected");
+
+        // Then
+        Assertions.assertEquals("Invalid cursor not-a-cursor", exception.getLocalizedMessage());
+        Mockito.verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Verify search returns books in relevance order")
+    void search_ValidQuery_ReturnsBooksInIndexOrder() {
+        // Given
+        BookView first = bookView(1L, "First");
+        BookView second = bookView(2L, "Second");
+
+        BookDto firstDto = new BookDto();
+        firstDto.setId(first.getId());
+        BookDto secondDto = new BookDto();
+        secondDto.setId(second.getId());
+
+        Mockito.when(bookSearchIndex.search("query", 20)).thenReturn(List.of(2L, 1L));
+        Mockito.when(bookRepository.findAllViewsByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(first, second));
+        Mockito.when(bookRepository.findCategoryIdsByBookIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of());
+        Mockito.when(bookMapper.toDtos(List.of(first, second), List.of()))
+                .thenReturn(List.of(firstDto, secondDto));
+
+        // When
+        List<BookDto> actual = bookService.search("query", 20);
+
+        // Then
+        Assertions.assertEquals(List.of(secondDto, firstDto), actual);
+    }
+
+    private static BookView bookView(Long id, String title) {
+        return PROJECTION_FACTORY.createProjection(BookView.class,
+                Map.of("id", id, "title", title, "author", "Test author",
+                        "isbn", String.valueOf(id), "price", BigDecimal.TEN));
+    }
+
+    private static BookCategoryIdView bookCategoryIdView(Long bookId, Long categoryId) {
+        return PROJECTION_FACTORY.createProjection(BookCategoryIdView.class,
+                Map.of("bookId", bookId, "categoryId", categoryId));
+    }
 }
@@ -2,9 +2,12 @@ package com.example.bookstore.service;
 
 import com.example.bookstore.dto.CategoryRequestDto;
 import com.example.bookstore.dto.CategoryResponseDto;
+import com.example.bookstore.event.CategorySavedEvent;
 import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.exception.InvalidRequestException;
 import com.example.bookstore.mapper.CategoryMapper;
 import com.example.bookstore.model.Category;
+import com.example.bookstore.repository.CategoryClosureRepository;
 import com.example.bookstore.repository.CategoryRepository;
 import com.example.bookstore.service.impl.CategoryServiceImpl;
 import java.util.Optional;
@@ -12,10 +15,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceTest {
@@ -28,6 +33,12 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Test
     @DisplayName("Verify get category by id works")
     void getById_ValidId_ReturnsCategoryDto() {
@@ -97,6 +108,8 @@ class CategoryServiceTest {
 
         // Then
         Assertions.assertEquals(expected, actual);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.any(CategorySavedEvent.class));
+        Mockito.verify(categoryClosureRepository).insert(category.getId(), null);
         Mockito.verify(categoryRepository, Mockito.times(1)).save(Mockito.any());
         Mockito.verifyNoMoreInteractions(categoryRepository, categoryMapper);
     }
@@ -169,4 +182,53 @@ class CategoryServiceTest {
         // Then
         Mockito.verify(categoryRepository, Mockito.times(1)).deleteById(1L);
     }
+
+    @Test
+    @DisplayName("Verify moving a category under its own subcategory throws exception")
+    void update_ParentInOwnSubtree_ThrowsInvalidRequestException() {
+        // Given
+        Category existing = new Category();
+        existing.setId(1L);
+
+        CategoryRequestDto requestDto = new CategoryRequestDto();
+        requestDto.setName("Fiction");
+        requestDto.setParentId(3L);
+
+        Category category = new Category();
+        category.setName(requestDto.getName());
+        category.setParentId(requestDto.getParentId());
+
+        Mockito.when(categoryRepository.findById(1L)).thenReturn(Optional.of(existing));
+        Mockito.when(categoryMapper.toModel(requestDto)).thenReturn(category);
+        Mockito.when(categoryRepository.existsById(3L)).thenReturn(true);
+        Mockito.when(categoryClosureRepository.isInSubtree(3L, 1L)).thenReturn(true);
+
+        // When
+        Throwable exception = Assertions.assertThrows(InvalidRequestException.class,
+                () -> categoryService.update(1L, requestDto));
+
+        // Then
+        Assertions.assertEquals("Can't move category 1 under its own subcategory 3",
+                exception.getMessage());
+        InOrder inOrder = Mockito.inOrder(categoryClosureRepository);
+        inOrder.verify(categoryClosureRepository).lockWithAncestors(1L, 3L);
+        inOrder.verify(categoryClosureRepository).isInSubtree(3L, 1L);
+        Mockito.verify(categoryRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(categoryClosureRepository, Mockito.never())
+                .move(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Verify delete category with subcategories throws exception")
+    void deleteById_WithSubcategories_ThrowsInvalidRequestException() {
+        // Given
+        Mockito.when(categoryRepository.existsByParentId(1L)).thenReturn(true);
+
+        // When
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> categoryService.deleteById(1L));
+
+        // Then
+        Mockito.verify(categoryRepository, Mockito.never()).deleteById(Mockito.any());
+    }
 }
@@ -0,0 +1,153 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.OrderResponseDto;
+import com.example.bookstore.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderCartQueryCountTest {
+    private static final Long SMALL_USER_ID = 1L;
+    private static final Long LARGE_USER_ID = 2L;
+    private static final int SMALL_SIZE = 1;
+    private static final int LARGE_SIZE = 20;
+    private static final long CATEGORIES_PER_BOOK = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        for (long categoryId = 1; categoryId <= CATEGORIES_PER_BOOK; categoryId++) {
+            jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, ?)",
+                    categoryId, "Category " + categoryId);
+        }
+        for (long bookId = 1; bookId <= LARGE_SIZE; bookId++) {
+            jdbcTemplate.update("INSERT INTO books (id, title, author, isbn, price) "
+                    + "VALUES (?, ?, 'Author', ?, ?)", bookId, "Book " + bookId,
+                    "isbn-" + bookId, BigDecimal.TEN);
+            for (long categoryId = 1; categoryId <= CATEGORIES_PER_BOOK; categoryId++) {
+                jdbcTemplate.update("INSERT INTO books_categories (book_id, category_id) "
+                        + "VALUES (?, ?)", bookId, categoryId);
+            }
+        }
+        createCustomer(SMALL_USER_ID, SMALL_SIZE);
+        createCustomer(LARGE_USER_ID, LARGE_SIZE);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_summaries");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM cart_items");
+        jdbcTemplate.update("DELETE FROM shopping_carts");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM books_categories");
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM categories");
+    }
+
+    @Test
+    @DisplayName("Verify the order history costs the same statements for any number of items")
+    void getAllOrders_GrowingHistory_ConstantNumberOfStatements() {
+        List<OrderResponseDto> small = orderService.getAllOrders(user(SMALL_USER_ID),
+                PageRequest.of(0, LARGE_SIZE));
+        List<OrderResponseDto> large = orderService.getAllOrders(user(LARGE_USER_ID),
+                PageRequest.of(0, LARGE_SIZE));
+
+        Assertions.assertEquals(SMALL_SIZE, small.size());
+        Assertions.assertEquals(LARGE_SIZE, large.size());
+        Assertions.assertEquals(LARGE_SIZE, large.get(0).getOrderItems().size());
+        Assertions.assertEquals(2, countStatements(() -> orderService.getAllOrders(
+                user(SMALL_USER_ID), PageRequest.of(0, LARGE_SIZE))));
+        Assertions.assertEquals(2, countStatements(() -> orderService.getAllOrders(
+                user(LARGE_USER_ID), PageRequest.of(0, LARGE_SIZE))));
+    }
+
+    @Test
+    @DisplayName("Verify a single order and one of its items are read with one statement")
+    void getAllItems_LargeOrder_OneStatement() {
+        Long orderId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM orders WHERE user_id = ?", Long.class, LARGE_USER_ID);
+        Long itemId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM order_items WHERE order_id = ?", Long.class, orderId);
+
+        Assertions.assertEquals(1, countStatements(() ->
+                orderService.getAllItems(user(LARGE_USER_ID), orderId)));
+        Assertions.assertEquals(LARGE_SIZE,
+                orderService.getAllItems(user(LARGE_USER_ID), orderId).size());
+        Assertions.assertEquals(1, countStatements(() ->
+                orderService.getItem(user(LARGE_USER_ID), orderId, itemId)));
+    }
+
+    @Test
+    @DisplayName("Verify the cart is read with one statement for any number of items")
+    void getByUserId_GrowingCart_OneStatement() {
+        Assertions.assertEquals(1, countStatements(() ->
+                shoppingCartService.getByUserId(SMALL_USER_ID)));
+        Assertions.assertEquals(1, countStatements(() ->
+                shoppingCartService.getByUserId(LARGE_USER_ID)));
+        Assertions.assertEquals(LARGE_SIZE,
+                shoppingCartService.getByUserId(LARGE_USER_ID).getCartItems().size());
+    }
+
+    private long countStatements(Supplier<Object> view) {
+        statistics.clear();
+        view.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createCustomer(Long userId, int size) {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (?, ?, 'password', 'Test', 'Test')", userId, userId + "@test.com");
+        jdbcTemplate.update("INSERT INTO shopping_carts (id, user_id) VALUES (?, ?)",
+                userId, userId);
+        for (long bookId = 1; bookId <= size; bookId++) {
+            jdbcTemplate.update("INSERT INTO cart_items (shopping_cart_id, book_id, quantity) "
+                    + "VALUES (?, ?, 1)", userId, bookId);
+        }
+        for (int i = 0; i < size; i++) {
+            jdbcTemplate.update("INSERT INTO orders (user_id, status, total, order_date, "
+                    + "shipping_address, is_deleted) VALUES (?, 0, ?, NOW(), 'Address', false)",
+                    userId, BigDecimal.TEN.multiply(BigDecimal.valueOf(size)));
+            Long orderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+            for (long bookId = 1; bookId <= size; bookId++) {
+                jdbcTemplate.update("INSERT INTO order_items (order_id, book_id, quantity, price) "
+                        + "VALUES (?, ?, 1, ?)", orderId, bookId, BigDecimal.TEN);
+            }
+        }
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.CreateOrderRequestDto;
+import com.example.bookstore.dto.OrderResponseDto;
+import com.example.bookstore.model.User;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class OrderCheckoutBenchmarkTest {
+    private static final Long USER_ID = 1L;
+    private static final Long CART_ID = 1L;
+    private static final List<Integer> CART_SIZES = List.of(1, 10, 100);
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (?, 'checkout@test.com', 'password', 'Test', 'Test')", USER_ID);
+        jdbcTemplate.update("INSERT INTO shopping_carts (id, user_id) VALUES (?, ?)",
+                CART_ID, USER_ID);
+        List<Object[]> books = new ArrayList<>();
+        for (long id = 1; id <= CART_SIZES.get(CART_SIZES.size() - 1); id++) {
+            books.add(new Object[]{id, "Book " + id, "isbn-" + id, BigDecimal.TEN});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO books (id, title, author, isbn, price) "
+                + "VALUES (?, ?, 'Author', ?, ?)", books);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_summaries");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM cart_items");
+        jdbcTemplate.update("DELETE FROM shopping_carts");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM books");
+    }
+
+    @Test
+    @DisplayName("Verify checkout costs the same number of statements for 1, 10 and 100 items")
+    void createOrder_GrowingCarts_ConstantNumberOfStatements() {
+        Map<Integer, Long> statementsBySize = new LinkedHashMap<>();
+        Map<Integer, String> millisBySize = new LinkedHashMap<>();
+        for (int size : CART_SIZES) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                checkout(size);
+            }
+            long statements = Long.MAX_VALUE;
+            long nanos = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                fillCart(size);
+                long questions = countQuestions();
+                long start = System.nanoTime();
+                OrderResponseDto order = orderService.createOrder(user(), request());
+                nanos += System.nanoTime() - start;
+                statements = Math.min(statements, countQuestions() - questions);
+                Assertions.assertEquals(size, order.getOrderItems().size());
+                Assertions.assertEquals(BigDecimal.TEN.multiply(BigDecimal.valueOf(size)),
+                        order.getTotal());
+            }
+            statementsBySize.put(size, statements);
+            millisBySize.put(size, String.format("%.2f ms",
+                    nanos / 1_000_000.0 / MEASURED_ROUNDS));
+        }
+
+        Assertions.assertEquals(1, statementsBySize.values().stream().distinct().count(),
+                "Statements per checkout by cart size: " + statementsBySize
+                        + ", average time: " + millisBySize);
+        Assertions.assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items", Integer.class));
+    }
+
+    private void checkout(int size) {
+        fillCart(size);
+        orderService.createOrder(user(), request());
+    }
+
+    private void fillCart(int size) {
+        List<Object[]> items = new ArrayList<>();
+        for (long bookId = 1; bookId <= size; bookId++) {
+            items.add(new Object[]{CART_ID, bookId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cart_items (shopping_cart_id, book_id, quantity) "
+                + "VALUES (?, ?, 1)", items);
+    }
+
+    private long countQuestions() {
+        return jdbcTemplate.queryForObject("SHOW GLOBAL STATUS LIKE 'Questions'",
+                (rs, rowNum) -> rs.getLong("Value"));
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(USER_ID);
+        return user;
+    }
+
+    private CreateOrderRequestDto request() {
+        CreateOrderRequestDto requestDto = new CreateOrderRequestDto();
+        requestDto.setShippingAddress("Test address");
+        return requestDto;
+    }
+}
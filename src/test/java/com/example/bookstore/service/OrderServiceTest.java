@@ -0,0 +1,225 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.cart.CartStore;
+import com.example.bookstore.dto.BulkUpdateOrderStatusReportDto;
+import com.example.bookstore.dto.BulkUpdateOrderStatusRequestDto;
+import com.example.bookstore.dto.CreateOrderRequestDto;
+import com.example.bookstore.dto.OrderItemResponseDto;
+import com.example.bookstore.dto.OrderResponseDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.exception.InvalidRequestException;
+import com.example.bookstore.mapper.OrderItemMapper;
+import com.example.bookstore.mapper.OrderMapper;
+import com.example.bookstore.model.Order;
+import com.example.bookstore.model.User;
+import com.example.bookstore.repository.CartItemJdbcRepository;
+import com.example.bookstore.repository.OrderItemRepository;
+import com.example.bookstore.repository.OrderJdbcRepository;
+import com.example.bookstore.repository.OrderRepository;
+import com.example.bookstore.repository.projection.OrderItemView;
+import com.example.bookstore.repository.projection.OrderView;
+import com.example.bookstore.service.impl.OrderServiceImpl;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+    private static final Long USER_ID = 1L;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderMapper orderMapper;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @Mock
+    private CartItemJdbcRepository cartItemJdbcRepository;
+
+    @Mock
+    private CartStore cartStore;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Verify an order is placed in its own transaction inside the cart checkout")
+    void createOrder_EmptyCart_FailsInsideCheckout() {
+        // Given
+        Mockito.when(cartStore.checkout(Mockito.eq(USER_ID), Mockito.any())).thenAnswer(
+                invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(cartItemJdbcRepository.lockCheckoutItems(Mockito.eq(USER_ID),
+                Mockito.any())).thenReturn(5L);
+
+        // When
+        Assertions.assertThrows(InvalidRequestException.class,
+                () -> orderService.createOrder(user(), new CreateOrderRequestDto()));
+
+        // Then
+        InOrder inOrder = Mockito.inOrder(cartStore, transactionTemplate);
+        inOrder.verify(cartStore).checkout(Mockito.eq(USER_ID), Mockito.any());
+        inOrder.verify(transactionTemplate).execute(Mockito.any());
+        Mockito.verify(orderRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Verify a page of orders keeps the newest-first order and groups items")
+    void getAllOrders_PageOfViews_ReturnsOrdersWithItems() {
+        // Given
+        OrderView newer = orderView(7L);
+        OrderView older = orderView(3L);
+        OrderItemView item = Mockito.mock(OrderItemView.class);
+        Mockito.when(item.getOrderId()).thenReturn(7L);
+        Mockito.when(orderRepository.findAllViewsByUserId(USER_ID, PageRequest.of(1, 2)))
+                .thenReturn(List.of(newer, older));
+        Mockito.when(orderItemRepository.findAllViewsByOrderIdIn(List.of(7L, 3L)))
+                .thenReturn(List.of(item));
+        Mockito.when(orderMapper.toDto(Mockito.any(OrderView.class))).thenAnswer(invocation -> {
+            OrderResponseDto orderDto = new OrderResponseDto();
+            orderDto.setId(invocation.<OrderView>getArgument(0).getId());
+            return orderDto;
+        });
+        Mockito.when(orderItemMapper.toDto(item)).thenReturn(new OrderItemResponseDto());
+
+        // When
+        List<OrderResponseDto> actual = orderService.getAllOrders(user(),
+                PageRequest.of(1, 2));
+
+        // Then
+        Assertions.assertEquals(List.of(7L, 3L), actual.stream()
+                .map(OrderResponseDto::getId)
+                .toList());
+        Assertions.assertEquals(1, actual.get(0).getOrderItems().size());
+        Assertions.assertTrue(actual.get(1).getOrderItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify getting an item of another user's order throws exception")
+    void getItem_OrderOfAnotherUser_ThrowsEntityNotFoundException() {
+        // Given
+        Mockito.when(orderItemRepository.findViewByIdAndOrderIdAndUserId(5L, 7L, USER_ID))
+                .thenReturn(Optional.empty());
+
+        // When
+        Throwable exception = Assertions.assertThrows(EntityNotFoundException.class,
+                () -> orderService.getItem(user(), 7L, 5L));
+
+        // Then
+        Assertions.assertEquals("Order item with id 5 not found", exception.getMessage());
+        Mockito.verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Verify listed orders are moved forward in chunks and counted")
+    void updateStatuses_ManyOrderIds_UpdatesInChunks() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+        Mockito.when(orderJdbcRepository.countExisting(Mockito.anyCollection()))
+                .thenReturn(1000L, 1000L, 400L);
+        Mockito.when(orderJdbcRepository.updateStatuses(Mockito.anyCollection(),
+                Mockito.eq(List.of(Order.Status.PENDING)), Mockito.eq(Order.Status.DELIVERED)))
+                .thenReturn(1000, 990, 400);
+        BulkUpdateOrderStatusRequestDto requestDto = new BulkUpdateOrderStatusRequestDto();
+        requestDto.setOrderIds(ids);
+        requestDto.setStatus(Order.Status.DELIVERED);
+
+        // When
+        BulkUpdateOrderStatusReportDto actual = orderService.updateStatuses(requestDto);
+
+        // Then
+        Assertions.assertEquals(2390, actual.getUpdated());
+        Assertions.assertEquals(10, actual.getSkipped());
+        Assertions.assertEquals(100, actual.getNotFound());
+        Mockito.verify(orderJdbcRepository).updateStatuses(ids.subList(2000, 2500),
+                List.of(Order.Status.PENDING), Order.Status.DELIVERED);
+    }
+
+    @Test
+    @DisplayName("Verify orders in a date range are paged by id and disallowed ones skipped")
+    void updateStatuses_OrderDateRange_UpdatesEveryChunk() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        List<Order.Status> currentStatuses = List.of(Order.Status.PENDING,
+                Order.Status.DELIVERED);
+        List<Long> firstChunk = LongStream.rangeClosed(1, 1000).boxed().toList();
+        Mockito.when(orderJdbcRepository.findIdsByOrderDate(from, to, 0, 1000))
+                .thenReturn(firstChunk);
+        Mockito.when(orderJdbcRepository.findIdsByOrderDate(from, to, 1000, 1000))
+                .thenReturn(List.of(1001L, 1002L));
+        Mockito.when(orderJdbcRepository.updateStatuses(Mockito.anyCollection(),
+                Mockito.eq(currentStatuses), Mockito.eq(Order.Status.COMPLETED)))
+                .thenReturn(998, 1);
+        BulkUpdateOrderStatusRequestDto requestDto = new BulkUpdateOrderStatusRequestDto();
+        requestDto.setOrderDateFrom(from);
+        requestDto.setOrderDateTo(to);
+        requestDto.setStatus(Order.Status.COMPLETED);
+
+        // When
+        BulkUpdateOrderStatusReportDto actual = orderService.updateStatuses(requestDto);
+
+        // Then
+        Assertions.assertEquals(999, actual.getUpdated());
+        Assertions.assertEquals(3, actual.getSkipped());
+        Assertions.assertEquals(0, actual.getNotFound());
+    }
+
+    @Test
+    @DisplayName("Verify moving orders backwards is rejected before touching the database")
+    void updateStatuses_BackwardTransition_ThrowsInvalidRequestException() {
+        // Given
+        BulkUpdateOrderStatusRequestDto requestDto = new BulkUpdateOrderStatusRequestDto();
+        requestDto.setOrderIds(List.of(1L));
+        requestDto.setCurrentStatus(Order.Status.COMPLETED);
+        requestDto.setStatus(Order.Status.DELIVERED);
+
+        // When
+        Throwable exception = Assertions.assertThrows(InvalidRequestException.class,
+                () -> orderService.updateStatuses(requestDto));
+
+        // Then
+        Assertions.assertEquals("Can't move orders from COMPLETED to DELIVERED",
+                exception.getMessage());
+        Mockito.verifyNoInteractions(orderJdbcRepository);
+    }
+
+    private OrderView orderView(Long id) {
+        OrderView view = Mockito.mock(OrderView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        return view;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(USER_ID);
+        return user;
+    }
+}
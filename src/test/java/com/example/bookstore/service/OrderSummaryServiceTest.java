@@ -0,0 +1,131 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.CreateOrderRequestDto;
+import com.example.bookstore.dto.OrderResponseDto;
+import com.example.bookstore.dto.OrderSummaryDto;
+import com.example.bookstore.dto.UpdateOrderRequestDto;
+import com.example.bookstore.model.Order;
+import com.example.bookstore.model.User;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class OrderSummaryServiceTest {
+    private static final Long USER_ID = 1L;
+    private static final Long CART_ID = 1L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name) "
+                + "VALUES (?, 'summary@test.com', 'password', 'Test', 'Test')", USER_ID);
+        jdbcTemplate.update("INSERT INTO shopping_carts (id, user_id) VALUES (?, ?)",
+                CART_ID, USER_ID);
+        jdbcTemplate.update("INSERT INTO books (id, title, author, isbn, price) VALUES "
+                + "(1, 'First', 'Author', '1111', 10), (2, 'Second', 'Author', '2222', 5)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_summaries");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM cart_items");
+        jdbcTemplate.update("DELETE FROM shopping_carts");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM books");
+    }
+
+    @Test
+    @DisplayName("Verify summaries follow created orders and their status changes")
+    void findAllByUser_AfterCheckoutAndStatusUpdate_ReturnsSummaries() {
+        // Given
+        OrderResponseDto first = checkout(2, 1);
+        OrderResponseDto second = checkout(0, 3);
+        UpdateOrderRequestDto statusUpdate = new UpdateOrderRequestDto();
+        statusUpdate.setStatus(Order.Status.DELIVERED);
+
+        // When
+        orderService.updateStatus(first.getId(), statusUpdate);
+        List<OrderSummaryDto> summaries = orderSummaryService.findAllByUser(user(),
+                PageRequest.of(0, 10));
+
+        // Then
+        Assertions.assertEquals(List.of(second.getId(), first.getId()), summaries.stream()
+                .map(OrderSummaryDto::getOrderId)
+                .toList());
+        assertSummary(summaries.get(1), Order.Status.DELIVERED, "25.00", 3, "First");
+        assertSummary(summaries.get(0), Order.Status.PENDING, "15.00", 3, "Second");
+    }
+
+    @Test
+    @DisplayName("Verify a rebuild restores summaries from orders and order items")
+    void rebuild_EmptySummaries_BackfillsFromOrders() {
+        // Given
+        checkout(2, 1);
+        checkout(1, 0);
+        List<OrderSummaryDto> expected = orderSummaryService.findAll(PageRequest.of(0, 10));
+        jdbcTemplate.update("DELETE FROM order_summaries");
+
+        // When
+        long rebuilt = orderSummaryService.rebuild().getOrderSummaries();
+        List<OrderSummaryDto> actual = orderSummaryService.findAll(PageRequest.of(0, 10));
+
+        // Then
+        Assertions.assertEquals(2, rebuilt);
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getOrderId(), actual.get(i).getOrderId());
+            assertSummary(actual.get(i), expected.get(i).getStatus(),
+                    expected.get(i).getTotal().toPlainString(),
+                    expected.get(i).getItemCount(), expected.get(i).getFirstBookTitle());
+        }
+    }
+
+    private OrderResponseDto checkout(int firstBooks, int secondBooks) {
+        if (firstBooks > 0) {
+            jdbcTemplate.update("INSERT INTO cart_items (shopping_cart_id, book_id, quantity) "
+                    + "VALUES (?, 1, ?)", CART_ID, firstBooks);
+        }
+        if (secondBooks > 0) {
+            jdbcTemplate.update("INSERT INTO cart_items (shopping_cart_id, book_id, quantity) "
+                    + "VALUES (?, 2, ?)", CART_ID, secondBooks);
+        }
+        CreateOrderRequestDto requestDto = new CreateOrderRequestDto();
+        requestDto.setShippingAddress("Test address");
+        return orderService.createOrder(user(), requestDto);
+    }
+
+    private void assertSummary(OrderSummaryDto summary, Order.Status status, String total,
+                               int itemCount, String firstBookTitle) {
+        Assertions.assertEquals(USER_ID, summary.getUserId());
+        Assertions.assertEquals(status, summary.getStatus());
+        Assertions.assertEquals(new BigDecimal(total), summary.getTotal());
+        Assertions.assertEquals(itemCount, summary.getItemCount());
+        Assertions.assertEquals(firstBookTitle, summary.getFirstBookTitle());
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(USER_ID);
+        return user;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.CartItemRequestDto;
+import com.example.bookstore.exception.EntityNotFoundException;
+import com.example.bookstore.model.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest
+@Sql(scripts = {"classpath:database/books/create-test-books.sql",
+        "classpath:database/carts/create-test-shopping-cart.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database/carts/delete-all-test-shopping-carts.sql",
+        "classpath:database/books/delete-all-test-books.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class ShoppingCartConcurrencyTest {
+    private static final Long USER_ID = 1L;
+    private static final int CONCURRENT_ADDS = 16;
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Verify parallel adds of the same books sum up into one item per book")
+    void addToCart_ConcurrentAdds_KeepsExactQuantities() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_ADDS);
+        List<Callable<Object>> adds = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_ADDS; i++) {
+            long bookId = i % 2 == 0 ? 1L : 2L;
+            adds.add(() -> {
+                shoppingCartService.addToCart(user(), request(bookId, 1 + (int) bookId));
+                return null;
+            });
+        }
+
+        // When
+        List<Future<Object>> results = executor.invokeAll(adds);
+        executor.shutdown();
+
+        // Then
+        for (Future<Object> result : results) {
+            result.get();
+        }
+        Map<Long, Long> quantities = jdbcTemplate.queryForList(
+                "SELECT book_id, quantity FROM cart_items WHERE shopping_cart_id = 1").stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("book_id")).longValue(),
+                        row -> ((Number) row.get("quantity")).longValue()));
+        Assertions.assertEquals(Map.of(1L, 2L * CONCURRENT_ADDS / 2,
+                2L, 3L * CONCURRENT_ADDS / 2), quantities);
+    }
+
+    @Test
+    @DisplayName("Verify adding a missing book to the cart throws an exception")
+    void addToCart_BookNotFound_ThrowsException() {
+        EntityNotFoundException exception = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> shoppingCartService.addToCart(user(), request(100L, 1)));
+
+        Assertions.assertEquals("Book with id 100 not found.", exception.getMessage());
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(USER_ID);
+        return user;
+    }
+
+    private CartItemRequestDto request(Long bookId, int quantity) {
+        CartItemRequestDto requestDto = new CartItemRequestDto();
+        requestDto.setBookId(bookId);
+        requestDto.setQuantity(quantity);
+        return requestDto;
+    }
+}
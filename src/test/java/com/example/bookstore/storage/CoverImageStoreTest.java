@@ -0,0 +1,87 @@
+package com.example.bookstore.storage;
+
+import com.example.bookstore.exception.InvalidRequestException;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CoverImageStoreTest {
+    private static final int IHDR_TYPE_OFFSET = 12;
+    private static final int IHDR_WIDTH_OFFSET = 16;
+    private static final int IHDR_CRC_OFFSET = 29;
+    @TempDir
+    private Path directory;
+    private CoverImageStore coverImageStore;
+
+    @BeforeEach
+    void setUp() {
+        coverImageStore = new CoverImageStore(directory.toString());
+    }
+
+    @Test
+    @DisplayName("Verify an upload is stored by content hash with smaller thumbnails")
+    void store_PngImage_StoresOriginalAndThumbnails() throws IOException {
+        // Given
+        byte[] image = png(300, 150);
+
+        // When
+        StoredCoverImage actual = coverImageStore.store(new ByteArrayInputStream(image));
+        StoredCoverImage duplicate = coverImageStore.store(new ByteArrayInputStream(image));
+
+        // Then
+        Assertions.assertTrue(actual.getName().matches("[0-9a-f]{64}\\.png"));
+        Assertions.assertEquals(actual.getName(), duplicate.getName());
+        Assertions.assertEquals(List.of(120, 240), List.copyOf(actual.getThumbnails().keySet()));
+        Path thumbnail = coverImageStore.find(actual.getThumbnails().get(120)).orElseThrow();
+        BufferedImage resized = ImageIO.read(thumbnail.toFile());
+        Assertions.assertEquals(120, resized.getWidth());
+        Assertions.assertEquals(60, resized.getHeight());
+        Assertions.assertEquals("image/png", coverImageStore.getContentType(actual.getName()));
+    }
+
+    @Test
+    @DisplayName("Verify non-image uploads are rejected and names can't escape the store")
+    void store_NotAnImage_ThrowsInvalidRequestException() {
+        Assertions.assertThrows(InvalidRequestException.class, () -> coverImageStore.store(
+                new ByteArrayInputStream("not an image".getBytes())));
+        Assertions.assertTrue(coverImageStore.find("../application.properties").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify images with too many pixels are rejected before they are decoded")
+    void store_HugeDimensions_ThrowsInvalidRequestException() throws IOException {
+        // Given
+        byte[] image = png(10, 10);
+        ByteBuffer header = ByteBuffer.wrap(image);
+        header.putInt(IHDR_WIDTH_OFFSET, 50_000).putInt(IHDR_WIDTH_OFFSET + 4, 50_000);
+        CRC32 crc = new CRC32();
+        crc.update(image, IHDR_TYPE_OFFSET, IHDR_CRC_OFFSET - IHDR_TYPE_OFFSET);
+        header.putInt(IHDR_CRC_OFFSET, (int) crc.getValue());
+
+        // When
+        Throwable exception = Assertions.assertThrows(InvalidRequestException.class,
+                () -> coverImageStore.store(new ByteArrayInputStream(image)));
+
+        // Then
+        Assertions.assertEquals("Cover image must not exceed 25000000 pixels",
+                exception.getMessage());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png",
+                output);
+        return output.toByteArray();
+    }
+}
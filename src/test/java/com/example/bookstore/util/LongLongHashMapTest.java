@@ -0,0 +1,45 @@
+package com.example.bookstore.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LongLongHashMapTest {
+    @Test
+    @DisplayName("Verify removing the reserved key leaves the map untouched")
+    void remove_ReservedKey_ReturnsNoValue() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1L, 10L);
+
+        // When
+        long actual = map.remove(0L);
+
+        // Then
+        Assertions.assertEquals(LongLongHashMap.NO_VALUE, actual);
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals(10L, map.get(1L));
+    }
+
+    @Test
+    @DisplayName("Verify removed keys are gone and the remaining keys stay reachable")
+    void remove_ManyKeys_KeepsOtherKeysReachable() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap();
+        for (long key = 1; key <= 1000; key++) {
+            map.put(key, key * 10);
+        }
+
+        // When
+        for (long key = 1; key <= 1000; key += 2) {
+            Assertions.assertEquals(key * 10, map.remove(key));
+        }
+
+        // Then
+        Assertions.assertEquals(500, map.size());
+        for (long key = 1; key <= 1000; key++) {
+            Assertions.assertEquals(key % 2 == 0 ? key * 10 : LongLongHashMap.NO_VALUE,
+                    map.get(key));
+        }
+    }
+}
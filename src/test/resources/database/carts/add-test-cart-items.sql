@@ -0,0 +1 @@
+INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity) VALUES (1, 1, 1, 2)
\ No newline at end of file
@@ -0,0 +1,2 @@
+INSERT INTO users (id, email, password, first_name, last_name) VALUES (1, "cart@test.com", "password", "Test", "Test")
+INSERT INTO shopping_carts (id, user_id) VALUES (1, 1)
\ No newline at end of file
@@ -0,0 +1,3 @@
+DELETE FROM cart_items
+DELETE FROM shopping_carts
+DELETE FROM users
\ No newline at end of file
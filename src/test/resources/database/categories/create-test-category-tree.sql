@@ -0,0 +1,5 @@
+INSERT INTO categories (id, name, description, parent_id) VALUES (3, 'Child Category', 'Test', 1)
+INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (1, 1, 0)
+INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (3, 3, 0)
+INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (1, 3, 1)
+INSERT INTO books_categories(book_id, category_id) VALUES(2, 3)
\ No newline at end of file
@@ -1 +1,2 @@
-DELETE FROM categories
\ No newline at end of file
+DELETE FROM categories
+DELETE FROM category_closure
\ No newline at end of file